@@ -0,0 +1,131 @@
+package com.ipiecoles.java.java350.benchmark;
+
+import com.ipiecoles.java.java350.Java350Application;
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.DemandeEmbauche;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import com.ipiecoles.java.java350.service.EmployeService;
+import com.ipiecoles.java.java350.service.EmployeServiceAsynchrone;
+import com.ipiecoles.java.java350.service.MatriculeService;
+import com.ipiecoles.java.java350.service.PerformanceMoyenneService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pic de nbDemandes demandes simultanées, pour moitié des embauches et pour moitié des calculs de performance de
+ * commerciaux, sur une BDD H2 en mémoire contenant nbEmployes commerciaux. Le temps mesuré est celui du traitement
+ * de tout le pic.
+ *
+ * Modèles comparés :
+ * <ul>
+ *     <li>pool200 : chaque demande appelle {@link EmployeService} depuis un pool de 200 threads, comme les threads
+ *     de requête de Tomcat par défaut ; les threads en surplus attendent une connexion JDBC</li>
+ *     <li>borne : les demandes passent par {@link EmployeServiceAsynchrone}, autant de threads que de connexions</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ChargeEmployeServiceBenchmark {
+
+    @Param({"pool200", "borne"})
+    private String modele;
+
+    @Param({"10000"})
+    private int nbDemandes;
+
+    @Param({"1000"})
+    private int nbEmployes;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeService employeService;
+
+    private EmployeServiceAsynchrone employeServiceAsynchrone;
+
+    private EmployeRepository employeRepository;
+
+    private ExecutorService threadsRequetes;
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        context = new SpringApplicationBuilder(Java350Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:charge;DB_CLOSE_DELAY=-1",
+                        "logging.level.com.ipiecoles.java=warn",
+                        "java350.execution.taille-file=" + nbDemandes)
+                .run();
+        employeService = context.getBean(EmployeService.class);
+        employeServiceAsynchrone = context.getBean(EmployeServiceAsynchrone.class);
+        employeRepository = context.getBean(EmployeRepository.class);
+        threadsRequetes = Executors.newFixedThreadPool(200);
+    }
+
+    @Setup(Level.Iteration)
+    public void initialiserBdd() throws EmployeException {
+        employeRepository.deleteAllInBatch();
+        context.getBean(MatriculeService.class).initialiser();
+        List<DemandeEmbauche> demandes = new ArrayList<>(nbEmployes);
+        for (int i = 0; i < nbEmployes; i++) {
+            demandes.add(new DemandeEmbauche("Doe", "John" + i, Poste.COMMERCIAL, NiveauEtude.LICENCE, 1.0));
+        }
+        employeService.embaucheEmployes(demandes);
+        context.getBean(PerformanceMoyenneService.class).reconcilier();
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        threadsRequetes.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public void picDeDemandes() {
+        List<CompletableFuture<Void>> resultats = new ArrayList<>(nbDemandes);
+        for (int i = 0; i < nbDemandes; i++) {
+            resultats.add(i % 2 == 0 ? embauche() : calculPerformance(i / 2 % nbEmployes + 1));
+        }
+        CompletableFuture.allOf(resultats.toArray(new CompletableFuture[0])).join();
+    }
+
+    private CompletableFuture<Void> embauche() {
+        if("borne".equals(modele)){
+            return employeServiceAsynchrone.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                employeService.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+            } catch (EmployeException e) {
+                throw new IllegalStateException(e);
+            }
+        }, threadsRequetes);
+    }
+
+    private CompletableFuture<Void> calculPerformance(int numeroCommercial) {
+        String matricule = MatriculeService.formaterMatricule(Poste.COMMERCIAL, numeroCommercial);
+        if("borne".equals(modele)){
+            return employeServiceAsynchrone.calculPerformanceCommercial(matricule, 110000L, 100000L);
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                employeService.calculPerformanceCommercial(matricule, 110000L, 100000L);
+            } catch (EmployeException e) {
+                throw new IllegalStateException(e);
+            }
+        }, threadsRequetes);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ipiecoles.java.java350.benchmark;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.service.MatriculeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculs de paie de {@link Employe} sur une population de nbEmployes employés.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeBenchmark {
+
+    @Param({"1000", "100000"})
+    private int nbEmployes;
+
+    private Employe[] employes;
+
+    private double[] salaires;
+
+    private final LocalDate annee = LocalDate.of(2021, 1, 1);
+
+    @Setup(Level.Trial)
+    public void creerEmployes() {
+        Random random = new Random(350);
+        employes = new Employe[nbEmployes];
+        salaires = new double[nbEmployes];
+        for (int i = 0; i < nbEmployes; i++) {
+            Poste poste = Poste.values()[random.nextInt(Poste.values().length)];
+            salaires[i] = 1500 + random.nextInt(300000) / 100d;
+            employes[i] = new Employe("Doe", "John", MatriculeService.formaterMatricule(poste, i % 100000),
+                    LocalDate.of(1990 + random.nextInt(30), 1 + random.nextInt(12), 1),
+                    salaires[i], 1 + random.nextInt(10), random.nextBoolean() ? 1.0 : 0.5);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reinitialiserSalaires() {
+        for (int i = 0; i < nbEmployes; i++) {
+            employes[i].setSalaire(salaires[i]);
+        }
+    }
+
+    @Benchmark
+    public void getPrimeAnnuelle(Blackhole blackhole) {
+        for (Employe employe : employes) {
+            blackhole.consume(employe.getPrimeAnnuelle());
+        }
+    }
+
+    @Benchmark
+    public void getNbRtt(Blackhole blackhole) {
+        for (Employe employe : employes) {
+            blackhole.consume(employe.getNbRtt(annee));
+        }
+    }
+
+    @Benchmark
+    public void augmenterSalaire(Blackhole blackhole) throws EmployeException {
+        for (Employe employe : employes) {
+            blackhole.consume(employe.augmenterSalaire(0.0001));
+        }
+    }
+}
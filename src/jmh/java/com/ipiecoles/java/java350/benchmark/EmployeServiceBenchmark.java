@@ -0,0 +1,87 @@
+package com.ipiecoles.java.java350.benchmark;
+
+import com.ipiecoles.java.java350.Java350Application;
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.DemandeEmbauche;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import com.ipiecoles.java.java350.service.EmployeService;
+import com.ipiecoles.java.java350.service.MatriculeService;
+import com.ipiecoles.java.java350.service.PerformanceMoyenneService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Méthodes de {@link EmployeService} sur une BDD H2 en mémoire contenant nbEmployes commerciaux.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeServiceBenchmark {
+
+    @Param({"1000", "10000"})
+    private int nbEmployes;
+
+    //info pour mesurer le coût des logs de l'embauche (logback.xml), warn pour les désactiver
+    @Param({"warn"})
+    private String niveauLogs;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeService employeService;
+
+    private EmployeRepository employeRepository;
+
+    private int prochainCommercial;
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        context = new SpringApplicationBuilder(Java350Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.com.ipiecoles.java=" + niveauLogs)
+                .run();
+        employeService = context.getBean(EmployeService.class);
+        employeRepository = context.getBean(EmployeRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void initialiserBdd() throws EmployeException {
+        employeRepository.deleteAllInBatch();
+        context.getBean(MatriculeService.class).initialiser();
+        List<DemandeEmbauche> demandes = new ArrayList<>(nbEmployes);
+        for (int i = 0; i < nbEmployes; i++) {
+            demandes.add(new DemandeEmbauche("Doe", "John" + i, Poste.COMMERCIAL, NiveauEtude.LICENCE, 1.0));
+        }
+        employeService.embaucheEmployes(demandes);
+        context.getBean(PerformanceMoyenneService.class).reconcilier();
+        prochainCommercial = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        context.close();
+    }
+
+    @Benchmark
+    public void embaucheEmploye() throws EmployeException {
+        employeService.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+    }
+
+    @Benchmark
+    public void calculPerformanceCommercial() throws EmployeException {
+        String matricule = MatriculeService.formaterMatricule(Poste.COMMERCIAL, prochainCommercial % nbEmployes + 1);
+        prochainCommercial++;
+        employeService.calculPerformanceCommercial(matricule, 110000L, 100000L);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ipiecoles.java.java350.benchmark;
+
+import com.ipiecoles.java.java350.model.Entreprise;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntrepriseBenchmark {
+
+    @Param({"2019", "2042"})
+    private int annee;
+
+    private LocalDate date;
+
+    @Setup(Level.Trial)
+    public void creerDate() {
+        date = LocalDate.of(annee, 6, 15);
+    }
+
+    @Benchmark
+    public List<LocalDate> joursFeries() {
+        return Entreprise.joursFeries(date);
+    }
+
+    @Benchmark
+    public LocalDate datePaque() {
+        return Entreprise.datePaque(annee);
+    }
+}
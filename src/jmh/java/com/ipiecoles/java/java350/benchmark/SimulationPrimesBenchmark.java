@@ -0,0 +1,57 @@
+package com.ipiecoles.java.java350.benchmark;
+
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.InstantaneEmployes;
+import com.ipiecoles.java.java350.model.ParametresPrime;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.service.MatriculeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation de nbScenarios jeux de paramètres de prime sur un instantané de nbEmployes employés.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationPrimesBenchmark {
+
+    @Param({"1000000"})
+    private int nbEmployes;
+
+    @Param({"1", "100"})
+    private int nbScenarios;
+
+    private InstantaneEmployes instantane;
+
+    private ParametresPrime[] scenarios;
+
+    private final LocalDate dateReference = LocalDate.of(2021, 1, 1);
+
+    @Setup(Level.Trial)
+    public void creerInstantane() {
+        Random random = new Random(350);
+        instantane = new InstantaneEmployes(nbEmployes);
+        for (int i = 0; i < nbEmployes; i++) {
+            Poste poste = Poste.values()[random.nextInt(Poste.values().length)];
+            instantane.ajouter(new Employe("Doe", "John", MatriculeService.formaterMatricule(poste, i % 100000),
+                    LocalDate.of(1990 + random.nextInt(30), 1 + random.nextInt(12), 1),
+                    1500d, 1 + random.nextInt(10), random.nextBoolean() ? 1.0 : 0.5));
+        }
+        scenarios = new ParametresPrime[nbScenarios];
+        for (int s = 0; s < nbScenarios; s++) {
+            scenarios[s] = new ParametresPrime(900 + s, 0.2 + s / 1000d, 1.5 + s / 100d, 80 + s / 10d);
+        }
+    }
+
+    @Benchmark
+    public double[] coutPrimes() {
+        return instantane.coutPrimes(scenarios, dateReference);
+    }
+}
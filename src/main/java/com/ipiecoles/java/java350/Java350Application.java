@@ -2,8 +2,10 @@ package com.ipiecoles.java.java350;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Java350Application {
 
     public static void main(String[] args) {
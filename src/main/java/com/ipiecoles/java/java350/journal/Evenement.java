@@ -0,0 +1,180 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+
+import java.time.LocalDate;
+
+/**
+ * Évènement métier enregistré dans le journal. Tous les évènements ont la même structure, seuls les champs utiles
+ * à leur type sont renseignés :
+ * <ul>
+ *     <li>EMBAUCHE : l'état complet de l'employé embauché</li>
+ *     <li>PERFORMANCE : la nouvelle performance</li>
+ *     <li>AUGMENTATION_SALAIRE : le nouveau salaire</li>
+ *     <li>AUGMENTATION_GENERALE : le pourcentage et le critère de l'augmentation, le matricule étant réduit au type
+ *     d'employé et la performance étant la performance minimum. Avec un niveau d'étude, la bande de salaire
+ *     appliquée est enregistrée avec : les règles de rémunération ont pu changer depuis</li>
+ * </ul>
+ */
+public final class Evenement {
+
+    private final TypeEvenement type;
+
+    private final long horodatage;
+
+    private final String matricule;
+
+    private final String nom;
+
+    private final String prenom;
+
+    private final LocalDate dateEmbauche;
+
+    private final Double salaire;
+
+    private final Integer performance;
+
+    private final Double tempsPartiel;
+
+    private final Double pourcentage;
+
+    private final NiveauEtude niveauEtude;
+
+    private final Double salaireMinimum;
+
+    private final Double salaireMaximum;
+
+    public Evenement(TypeEvenement type, long horodatage, String matricule, String nom, String prenom,
+                     LocalDate dateEmbauche, Double salaire, Integer performance, Double tempsPartiel) {
+        this(type, horodatage, matricule, nom, prenom, dateEmbauche, salaire, performance, tempsPartiel, null, null);
+    }
+
+    public Evenement(TypeEvenement type, long horodatage, String matricule, String nom, String prenom,
+                     LocalDate dateEmbauche, Double salaire, Integer performance, Double tempsPartiel,
+                     Double pourcentage, NiveauEtude niveauEtude) {
+        this(type, horodatage, matricule, nom, prenom, dateEmbauche, salaire, performance, tempsPartiel, pourcentage,
+                niveauEtude, null, null);
+    }
+
+    public Evenement(TypeEvenement type, long horodatage, String matricule, String nom, String prenom,
+                     LocalDate dateEmbauche, Double salaire, Integer performance, Double tempsPartiel,
+                     Double pourcentage, NiveauEtude niveauEtude, Double salaireMinimum, Double salaireMaximum) {
+        this.type = type;
+        this.horodatage = horodatage;
+        this.matricule = matricule;
+        this.nom = nom;
+        this.prenom = prenom;
+        this.dateEmbauche = dateEmbauche;
+        this.salaire = salaire;
+        this.performance = performance;
+        this.tempsPartiel = tempsPartiel;
+        this.pourcentage = pourcentage;
+        this.niveauEtude = niveauEtude;
+        this.salaireMinimum = salaireMinimum;
+        this.salaireMaximum = salaireMaximum;
+    }
+
+    public static Evenement embauche(Employe employe) {
+        return new Evenement(TypeEvenement.EMBAUCHE, System.currentTimeMillis(), employe.getMatricule(),
+                employe.getNom(), employe.getPrenom(), employe.getDateEmbauche(), employe.getSalaire(),
+                employe.getPerformance(), employe.getTempsPartiel());
+    }
+
+    public static Evenement performance(Employe employe) {
+        return new Evenement(TypeEvenement.PERFORMANCE, System.currentTimeMillis(), employe.getMatricule(),
+                null, null, null, null, employe.getPerformance(), null);
+    }
+
+    public static Evenement augmentationSalaire(Employe employe) {
+        return new Evenement(TypeEvenement.AUGMENTATION_SALAIRE, System.currentTimeMillis(), employe.getMatricule(),
+                null, null, null, employe.getSalaire(), null, null);
+    }
+
+    /**
+     * @param regles les règles de rémunération avec lesquelles l'augmentation a été faite
+     */
+    public static Evenement augmentationGenerale(double pourcentage, CritereAugmentation critere, ReglesRemuneration regles) {
+        Double salaireMinimum = null;
+        Double salaireMaximum = null;
+        if(critere.getNiveauEtude() != null){
+            salaireMinimum = regles.salaireMinimumBande(critere.getNiveauEtude());
+            salaireMaximum = regles.salaireMaximumBande(critere.getNiveauEtude());
+            salaireMinimum = salaireMinimum == null ? Double.NEGATIVE_INFINITY : salaireMinimum;
+            salaireMaximum = salaireMaximum == null ? Double.POSITIVE_INFINITY : salaireMaximum;
+        }
+        return new Evenement(TypeEvenement.AUGMENTATION_GENERALE, System.currentTimeMillis(), critere.getTypeEmploye(),
+                null, null, null, null, critere.getPerformanceMinimum(), null, pourcentage, critere.getNiveauEtude(),
+                salaireMinimum, salaireMaximum);
+    }
+
+    public TypeEvenement getType() {
+        return type;
+    }
+
+    /**
+     * @return la date de l'évènement en millisecondes depuis le 01/01/1970
+     */
+    public long getHorodatage() {
+        return horodatage;
+    }
+
+    public String getMatricule() {
+        return matricule;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public String getPrenom() {
+        return prenom;
+    }
+
+    public LocalDate getDateEmbauche() {
+        return dateEmbauche;
+    }
+
+    public Double getSalaire() {
+        return salaire;
+    }
+
+    public Integer getPerformance() {
+        return performance;
+    }
+
+    public Double getTempsPartiel() {
+        return tempsPartiel;
+    }
+
+    public Double getPourcentage() {
+        return pourcentage;
+    }
+
+    public NiveauEtude getNiveauEtude() {
+        return niveauEtude;
+    }
+
+    /**
+     * @return le salaire minimum de la bande du niveau d'étude d'une augmentation générale,
+     * Double.NEGATIVE_INFINITY si la bande n'a pas de minimum, null si la bande n'a pas été enregistrée
+     */
+    public Double getSalaireMinimum() {
+        return salaireMinimum;
+    }
+
+    /**
+     * @return le salaire maximum (exclu) de la bande du niveau d'étude d'une augmentation générale,
+     * Double.POSITIVE_INFINITY si la bande n'a pas de maximum, null si la bande n'a pas été enregistrée
+     */
+    public Double getSalaireMaximum() {
+        return salaireMaximum;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + matricule + " " + horodatage;
+    }
+}
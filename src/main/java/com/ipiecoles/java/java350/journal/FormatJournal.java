@@ -0,0 +1,291 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.model.NiveauEtude;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Format binaire du journal.
+ *
+ * Le journal est découpé en segments journal-NNNNNNNNNNNNNNNNNNNN.bin numérotés dans l'ordre d'écriture. Chaque
+ * segment commence par un entête de {@link #TAILLE_ENTETE} octets :
+ * <pre>
+ *   0  marqueur      int, "JRNL" en ASCII
+ *   4  version       int, version du format des enregistrements du segment
+ * </pre>
+ * suivi d'une suite d'enregistrements de {@link #TAILLE_ENREGISTREMENT} octets (big endian), au format
+ * {@link #VERSION} :
+ * <pre>
+ *   0  type          1 octet, 0 = fin des données du segment
+ *   1  matricule     6 octets ASCII, complétés par des 0
+ *   7  niveauEtude   1 octet, rang dans NiveauEtude (-1 si absent)
+ *   8  horodatage    long, millisecondes depuis le 01/01/1970
+ *  16  dateEmbauche  int, jours depuis le 01/01/1970 (Integer.MIN_VALUE si absente)
+ *  20  performance   int (Integer.MIN_VALUE si absente)
+ *  24  salaire       double (NaN si absent)
+ *  32  tempsPartiel  double (NaN si absent)
+ *  40  nom           1 octet de longueur (-1 si absent) puis 39 octets UTF-8
+ *  80  prenom        1 octet de longueur (-1 si absent) puis 39 octets UTF-8
+ * 120  pourcentage   double (NaN si absent)
+ * 128  salaireMinimum double (NaN si absent)
+ * 136  salaireMaximum double (NaN si absent)
+ * </pre>
+ * Les noms et prénoms de plus de 39 octets sont tronqués.
+ *
+ * Versions du format :
+ * <ol>
+ *     <li>segments sans entête, sans niveauEtude ni pourcentage, nom et prénom sur 43 octets aux positions 40 et
+ *     84</li>
+ *     <li>enregistrements de 128 octets, sans salaireMinimum ni salaireMaximum : ils sont lus comme absents</li>
+ *     <li>format actuel</li>
+ * </ol>
+ * Les segments sans entête ne sont pas lus : rien ne permet de savoir s'ils sont au format 1 ou s'ils ont été
+ * écrits au format 2 avant l'ajout de l'entête. Ils sont à convertir ou à archiver avant une reconstruction.
+ */
+final class FormatJournal {
+
+    static final int VERSION = 3;
+
+    /**
+     * Plus ancienne version lue
+     */
+    static final int VERSION_MINIMUM = 2;
+
+    static final int TAILLE_ENTETE = 8;
+
+    static final int TAILLE_ENREGISTREMENT = 144;
+
+    private static final int TAILLE_ENREGISTREMENT_VERSION_2 = 128;
+
+    static final int TAILLE_MATRICULE = 6;
+
+    static final int TAILLE_TEXTE_MAX = 39;
+
+    /**
+     * Version d'un segment dont l'entête n'est pas encore écrit
+     */
+    static final int SEGMENT_VIDE = 0;
+
+    /**
+     * Version d'un segment écrit sans entête
+     */
+    static final int SANS_VERSION = -1;
+
+    private static final int MARQUEUR = 0x4A524E4C;
+
+    private static final int POSITION_MARQUEUR = 0;
+    private static final int POSITION_VERSION = 4;
+
+    private static final int POSITION_TYPE = 0;
+    private static final int POSITION_MATRICULE = 1;
+    private static final int POSITION_NIVEAU_ETUDE = 7;
+    private static final int POSITION_HORODATAGE = 8;
+    private static final int POSITION_DATE_EMBAUCHE = 16;
+    private static final int POSITION_PERFORMANCE = 20;
+    private static final int POSITION_SALAIRE = 24;
+    private static final int POSITION_TEMPS_PARTIEL = 32;
+    private static final int POSITION_NOM = 40;
+    private static final int POSITION_PRENOM = 80;
+    private static final int POSITION_POURCENTAGE = 120;
+    private static final int POSITION_SALAIRE_MINIMUM = 128;
+    private static final int POSITION_SALAIRE_MAXIMUM = 136;
+
+    private static final String PREFIXE_SEGMENT = "journal-";
+    private static final String EXTENSION_SEGMENT = ".bin";
+
+    private FormatJournal() {
+    }
+
+    /**
+     * Écrit l'entête d'un nouveau segment, au format {@link #VERSION}.
+     */
+    static void ecrireEntete(ByteBuffer segment) {
+        segment.putInt(POSITION_VERSION, VERSION);
+        segment.putInt(POSITION_MARQUEUR, MARQUEUR);
+    }
+
+    /**
+     * @return la version du format du segment, {@link #SEGMENT_VIDE} si rien n'y est encore écrit,
+     * {@link #SANS_VERSION} s'il a été écrit sans entête
+     */
+    static int lireVersion(ByteBuffer segment) {
+        if(segment.capacity() >= TAILLE_ENTETE && segment.getInt(POSITION_MARQUEUR) == MARQUEUR){
+            return segment.getInt(POSITION_VERSION);
+        }
+        //Un segment sans entête commence par le type de son premier enregistrement, 0 s'il est vide
+        return segment.capacity() == 0 || segment.get(POSITION_TYPE) == 0 ? SEGMENT_VIDE : SANS_VERSION;
+    }
+
+    /**
+     * Vérifie qu'un segment à lire est dans un format lu, de {@link #VERSION_MINIMUM} à {@link #VERSION}.
+     *
+     * @return la version du segment, {@link #SEGMENT_VIDE} si le segment est vide
+     * @throws IOException si le segment est dans un autre format
+     */
+    static int verifierVersion(Path fichier, ByteBuffer segment) throws IOException {
+        int version = lireVersion(segment);
+        if(version == SEGMENT_VIDE){
+            return version;
+        }
+        if(version == SANS_VERSION){
+            throw new IOException("Segment " + fichier + " écrit sans version de format (format 1, ou format 2"
+                    + " avant l'ajout de l'entête) : il doit être converti ou archivé avant la lecture du journal");
+        }
+        if(version < VERSION_MINIMUM || version > VERSION){
+            throw new IOException("Segment " + fichier + " au format " + version + ", seuls les formats "
+                    + VERSION_MINIMUM + " à " + VERSION + " sont lus");
+        }
+        return version;
+    }
+
+    /**
+     * @return la taille des enregistrements d'un segment au format donné
+     */
+    static int tailleEnregistrement(int version) {
+        return version == 2 ? TAILLE_ENREGISTREMENT_VERSION_2 : TAILLE_ENREGISTREMENT;
+    }
+
+    /**
+     * Écrit l'évènement à la position donnée. Le type est écrit en dernier : un enregistrement interrompu reste
+     * marqué comme fin des données.
+     */
+    static void ecrire(ByteBuffer buffer, int position, Evenement evenement) {
+        String matricule = evenement.getMatricule() == null ? "" : evenement.getMatricule();
+        if(matricule.length() > TAILLE_MATRICULE){
+            throw new IllegalArgumentException("Matricule trop long pour le journal : " + matricule);
+        }
+        for (int i = 0; i < TAILLE_MATRICULE; i++) {
+            buffer.put(position + POSITION_MATRICULE + i, i < matricule.length() ? (byte) matricule.charAt(i) : 0);
+        }
+        buffer.put(position + POSITION_NIVEAU_ETUDE, evenement.getNiveauEtude() == null ?
+                (byte) -1 : (byte) evenement.getNiveauEtude().ordinal());
+        buffer.putLong(position + POSITION_HORODATAGE, evenement.getHorodatage());
+        buffer.putInt(position + POSITION_DATE_EMBAUCHE, evenement.getDateEmbauche() == null ?
+                Integer.MIN_VALUE : (int) evenement.getDateEmbauche().toEpochDay());
+        buffer.putInt(position + POSITION_PERFORMANCE, evenement.getPerformance() == null ?
+                Integer.MIN_VALUE : evenement.getPerformance());
+        buffer.putDouble(position + POSITION_SALAIRE, evenement.getSalaire() == null ? Double.NaN : evenement.getSalaire());
+        buffer.putDouble(position + POSITION_TEMPS_PARTIEL, evenement.getTempsPartiel() == null ?
+                Double.NaN : evenement.getTempsPartiel());
+        ecrireTexte(buffer, position + POSITION_NOM, evenement.getNom());
+        ecrireTexte(buffer, position + POSITION_PRENOM, evenement.getPrenom());
+        buffer.putDouble(position + POSITION_POURCENTAGE, evenement.getPourcentage() == null ?
+                Double.NaN : evenement.getPourcentage());
+        buffer.putDouble(position + POSITION_SALAIRE_MINIMUM, evenement.getSalaireMinimum() == null ?
+                Double.NaN : evenement.getSalaireMinimum());
+        buffer.putDouble(position + POSITION_SALAIRE_MAXIMUM, evenement.getSalaireMaximum() == null ?
+                Double.NaN : evenement.getSalaireMaximum());
+        buffer.put(position + POSITION_TYPE, evenement.getType().getCode());
+    }
+
+    /**
+     * @return le type de l'enregistrement à la position donnée, null en fin de données
+     */
+    static TypeEvenement lireType(ByteBuffer buffer, int position) {
+        return TypeEvenement.depuisCode(buffer.get(position + POSITION_TYPE));
+    }
+
+    /**
+     * @param version la version du segment
+     */
+    static Evenement lire(ByteBuffer buffer, int position, int version) {
+        TypeEvenement type = lireType(buffer, position);
+        if(type == null){
+            return null;
+        }
+        int longueurMatricule = 0;
+        while (longueurMatricule < TAILLE_MATRICULE && buffer.get(position + POSITION_MATRICULE + longueurMatricule) != 0) {
+            longueurMatricule++;
+        }
+        char[] matricule = new char[longueurMatricule];
+        for (int i = 0; i < longueurMatricule; i++) {
+            matricule[i] = (char) buffer.get(position + POSITION_MATRICULE + i);
+        }
+        int dateEmbauche = buffer.getInt(position + POSITION_DATE_EMBAUCHE);
+        int performance = buffer.getInt(position + POSITION_PERFORMANCE);
+        double salaire = buffer.getDouble(position + POSITION_SALAIRE);
+        double tempsPartiel = buffer.getDouble(position + POSITION_TEMPS_PARTIEL);
+        double pourcentage = buffer.getDouble(position + POSITION_POURCENTAGE);
+        byte niveauEtude = buffer.get(position + POSITION_NIVEAU_ETUDE);
+        double salaireMinimum = version == 2 ? Double.NaN : buffer.getDouble(position + POSITION_SALAIRE_MINIMUM);
+        double salaireMaximum = version == 2 ? Double.NaN : buffer.getDouble(position + POSITION_SALAIRE_MAXIMUM);
+        return new Evenement(type,
+                buffer.getLong(position + POSITION_HORODATAGE),
+                longueurMatricule == 0 ? null : new String(matricule),
+                lireTexte(buffer, position + POSITION_NOM),
+                lireTexte(buffer, position + POSITION_PRENOM),
+                dateEmbauche == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(dateEmbauche),
+                Double.isNaN(salaire) ? null : salaire,
+                performance == Integer.MIN_VALUE ? null : performance,
+                Double.isNaN(tempsPartiel) ? null : tempsPartiel,
+                Double.isNaN(pourcentage) ? null : pourcentage,
+                niveauEtude < 0 ? null : NiveauEtude.values()[niveauEtude],
+                Double.isNaN(salaireMinimum) ? null : salaireMinimum,
+                Double.isNaN(salaireMaximum) ? null : salaireMaximum);
+    }
+
+    private static void ecrireTexte(ByteBuffer buffer, int position, String texte) {
+        if(texte == null){
+            buffer.put(position, (byte) -1);
+            return;
+        }
+        byte[] octets = texte.getBytes(StandardCharsets.UTF_8);
+        int longueur = Math.min(octets.length, TAILLE_TEXTE_MAX);
+        //On ne coupe pas un caractère multi-octets en deux
+        while (longueur < octets.length && longueur > 0 && (octets[longueur] & 0xC0) == 0x80) {
+            longueur--;
+        }
+        buffer.put(position, (byte) longueur);
+        for (int i = 0; i < longueur; i++) {
+            buffer.put(position + 1 + i, octets[i]);
+        }
+    }
+
+    private static String lireTexte(ByteBuffer buffer, int position) {
+        int longueur = buffer.get(position);
+        if(longueur < 0){
+            return null;
+        }
+        byte[] octets = new byte[longueur];
+        for (int i = 0; i < longueur; i++) {
+            octets[i] = buffer.get(position + 1 + i);
+        }
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    static Path segment(Path repertoire, long numero) {
+        return repertoire.resolve(String.format("%s%020d%s", PREFIXE_SEGMENT, numero, EXTENSION_SEGMENT));
+    }
+
+    static long numeroSegment(Path segment) {
+        String nom = segment.getFileName().toString();
+        return Long.parseLong(nom.substring(PREFIXE_SEGMENT.length(), nom.length() - EXTENSION_SEGMENT.length()));
+    }
+
+    /**
+     * @return les segments du répertoire dans l'ordre d'écriture, liste vide si le répertoire n'existe pas
+     */
+    static List<Path> segments(Path repertoire) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if(!Files.isDirectory(repertoire)){
+            return segments;
+        }
+        try (DirectoryStream<Path> fichiers = Files.newDirectoryStream(repertoire, PREFIXE_SEGMENT + "*" + EXTENSION_SEGMENT)) {
+            for (Path fichier : fichiers) {
+                segments.add(fichier);
+            }
+        }
+        //Numéros sur 20 chiffres : l'ordre alphabétique est l'ordre d'écriture
+        Collections.sort(segments);
+        return segments;
+    }
+}
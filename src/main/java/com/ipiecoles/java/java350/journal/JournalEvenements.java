@@ -0,0 +1,178 @@
+package com.ipiecoles.java.java350.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.ipiecoles.java.java350.journal.FormatJournal.TAILLE_ENREGISTREMENT;
+import static com.ipiecoles.java.java350.journal.FormatJournal.TAILLE_ENTETE;
+
+/**
+ * Journal des évènements métier, en ajout seul, dans des segments binaires projetés en mémoire (voir
+ * {@link FormatJournal}). Un enregistrement est une simple copie dans la projection : le système écrit les pages
+ * sur le disque, et un arrêt brutal de l'application ne perd rien tant que le système ne s'arrête pas.
+ * {@link #forcer()} force l'écriture sur le disque, ce qui est fait à chaque changement de segment et à l'arrêt.
+ *
+ * Les évènements enregistrés pendant une transaction ne sont écrits qu'à sa validation : une transaction annulée
+ * ne laisse aucune trace dans le journal.
+ */
+@Component
+public class JournalEvenements {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Path repertoire;
+
+    private final int tailleSegment;
+
+    private FileChannel canal;
+
+    private MappedByteBuffer segment;
+
+    private long numeroSegment;
+
+    private int position;
+
+    /**
+     * @param repertoire Le répertoire des segments, créé si besoin
+     * @param tailleSegment La taille d'un segment en octets, entête compris, arrondie au nombre entier
+     *                      d'enregistrements inférieur
+     */
+    public JournalEvenements(@Value("${java350.journal.repertoire:journal}") String repertoire,
+                             @Value("${java350.journal.taille-segment:67108864}") int tailleSegment) {
+        if(tailleSegment < TAILLE_ENTETE + TAILLE_ENREGISTREMENT){
+            throw new IllegalArgumentException("Un segment doit pouvoir contenir au moins un évènement");
+        }
+        this.repertoire = Paths.get(repertoire);
+        this.tailleSegment = tailleSegment - (tailleSegment - TAILLE_ENTETE) % TAILLE_ENREGISTREMENT;
+    }
+
+    /**
+     * Ouvre le dernier segment et se place après son dernier évènement. Si le dernier segment est dans un autre
+     * format que {@link FormatJournal#VERSION}, l'écriture continue dans un nouveau segment.
+     */
+    @PostConstruct
+    public synchronized void ouvrir() throws IOException {
+        Files.createDirectories(repertoire);
+        List<Path> segments = FormatJournal.segments(repertoire);
+        if(segments.isEmpty()){
+            ouvrirSegment(1);
+            return;
+        }
+        ouvrirSegment(FormatJournal.numeroSegment(segments.get(segments.size() - 1)));
+        int version = FormatJournal.lireVersion(segment);
+        if(version != FormatJournal.VERSION){
+            logger.warn("Dernier segment {} du journal au format {}, écriture au format {} dans un nouveau segment",
+                    numeroSegment, version, FormatJournal.VERSION);
+            segmentSuivant();
+        }
+        while (position + TAILLE_ENREGISTREMENT <= segment.capacity() && FormatJournal.lireType(segment, position) != null) {
+            position += TAILLE_ENREGISTREMENT;
+        }
+        logger.info("Journal des évènements ouvert dans {}, segment {} position {}", repertoire, numeroSegment, position);
+    }
+
+    @PreDestroy
+    public synchronized void fermer() throws IOException {
+        if(canal != null){
+            segment.force();
+            canal.close();
+            canal = null;
+            segment = null;
+        }
+    }
+
+    /**
+     * Enregistre un évènement, à la validation de la transaction en cours s'il y en a une, immédiatement sinon.
+     */
+    public void enregistrer(Evenement evenement) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            ecrire(Collections.singletonList(evenement));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Evenement> enAttente = (List<Evenement>) TransactionSynchronizationManager.getResource(this);
+        if(enAttente == null){
+            List<Evenement> evenements = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, evenements);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    ecrire(evenements);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JournalEvenements.this);
+                }
+            });
+            enAttente = evenements;
+        }
+        enAttente.add(evenement);
+    }
+
+    private synchronized void ecrire(List<Evenement> evenements) {
+        if(canal == null){
+            throw new IllegalStateException("Le journal des évènements est fermé");
+        }
+        try {
+            for (Evenement evenement : evenements) {
+                if(position + TAILLE_ENREGISTREMENT > segment.capacity()){
+                    segmentSuivant();
+                }
+                FormatJournal.ecrire(segment, position, evenement);
+                position += TAILLE_ENREGISTREMENT;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible dans le journal des évènements", e);
+        }
+    }
+
+    /**
+     * Force l'écriture sur le disque des évènements enregistrés.
+     */
+    public synchronized void forcer() {
+        if(segment != null){
+            segment.force();
+        }
+    }
+
+    public Path getRepertoire() {
+        return repertoire;
+    }
+
+    private void segmentSuivant() throws IOException {
+        segment.force();
+        canal.close();
+        ouvrirSegment(numeroSegment + 1);
+    }
+
+    private void ouvrirSegment(long numero) throws IOException {
+        canal = FileChannel.open(FormatJournal.segment(repertoire, numero),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        //Un segment écrit avec une taille plus grande est conservé en entier
+        segment = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(canal.size(), tailleSegment));
+        numeroSegment = numero;
+        position = TAILLE_ENTETE;
+        if(FormatJournal.lireVersion(segment) == FormatJournal.SEGMENT_VIDE){
+            FormatJournal.ecrireEntete(segment);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ipiecoles.java.java350.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.ipiecoles.java.java350.journal.FormatJournal.TAILLE_ENTETE;
+
+/**
+ * Lecture séquentielle des évènements d'un journal écrit par {@link JournalEvenements}, segment par segment et dans
+ * l'ordre d'écriture. Les segments sont projetés en mémoire en lecture seule : la lecture peut se faire pendant que
+ * le journal est alimenté.
+ */
+public class LecteurJournal {
+
+    private final Path repertoire;
+
+    public LecteurJournal(Path repertoire) {
+        this.repertoire = repertoire;
+    }
+
+    /**
+     * Lit tous les évènements du journal.
+     *
+     * @param consommateur appelé pour chaque évènement, dans l'ordre d'écriture
+     * @return le nombre d'évènements lus
+     */
+    public long lire(Consumer<Evenement> consommateur) throws IOException {
+        return lire(EnumSet.allOf(TypeEvenement.class), consommateur);
+    }
+
+    /**
+     * Lit les évènements des types donnés. Les enregistrements des autres types ne sont pas décodés.
+     *
+     * @param types les types d'évènements à lire
+     * @param consommateur appelé pour chaque évènement, dans l'ordre d'écriture
+     * @return le nombre d'évènements lus
+     * @throws IOException si un segment n'est pas dans un format lu (voir {@link FormatJournal})
+     */
+    public long lire(Set<TypeEvenement> types, Consumer<Evenement> consommateur) throws IOException {
+        long nbEvenements = 0;
+        for (Path fichier : FormatJournal.segments(repertoire)) {
+            try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                int version = FormatJournal.verifierVersion(fichier, segment);
+                if(version == FormatJournal.SEGMENT_VIDE){
+                    continue;
+                }
+                int taille = FormatJournal.tailleEnregistrement(version);
+                for (int position = TAILLE_ENTETE; position + taille <= segment.capacity(); position += taille) {
+                    TypeEvenement type = FormatJournal.lireType(segment, position);
+                    if(type == null){
+                        break;
+                    }
+                    if(types.contains(type)){
+                        consommateur.accept(FormatJournal.lire(segment, position, version));
+                        nbEvenements++;
+                    }
+                }
+            }
+        }
+        return nbEvenements;
+    }
+}
@@ -0,0 +1,163 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import com.ipiecoles.java.java350.service.EmployeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconstruction de la table des employés à partir du journal des évènements.
+ */
+@Service
+public class ReconstructionEmployes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconstructionEmployes.class);
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Rejoue le journal : chaque embauche crée un employé, les évènements suivants modifient sa performance ou son
+     * salaire, et les augmentations générales sont appliquées aux employés du critère à cet instant, avec la bande
+     * de salaire enregistrée dans l'évènement. Les évènements
+     * d'un employé embauché avant la mise en place du journal sont ignorés.
+     *
+     * @param lecteur le journal à rejouer
+     * @return l'état final des employés, dans l'ordre des embauches
+     */
+    public static Collection<Employe> rejouer(LecteurJournal lecteur) throws IOException {
+        Map<String, Employe> employes = new LinkedHashMap<>();
+        long[] nbIgnores = new long[1];
+        //Une seule version des règles pour les augmentations enregistrées sans leur bande
+        ReglesRemuneration regles = Entreprise.regles();
+        lecteur.lire(evenement -> {
+            if(evenement.getType() == TypeEvenement.EMBAUCHE){
+                employes.put(evenement.getMatricule(), new Employe(evenement.getNom(), evenement.getPrenom(),
+                        evenement.getMatricule(), evenement.getDateEmbauche(), evenement.getSalaire(),
+                        evenement.getPerformance(), evenement.getTempsPartiel()));
+                return;
+            }
+            if(evenement.getType() == TypeEvenement.AUGMENTATION_GENERALE){
+                augmenter(employes.values(), evenement, regles);
+                return;
+            }
+            Employe employe = employes.get(evenement.getMatricule());
+            if(employe == null){
+                nbIgnores[0]++;
+            } else if(evenement.getType() == TypeEvenement.PERFORMANCE){
+                employe.setPerformance(evenement.getPerformance());
+            } else if(evenement.getType() == TypeEvenement.AUGMENTATION_SALAIRE){
+                employe.setSalaire(evenement.getSalaire());
+            }
+        });
+        if(nbIgnores[0] > 0){
+            logger.warn("{} évènements ignorés car l'embauche de l'employé n'est pas dans le journal", nbIgnores[0]);
+        }
+        return employes.values();
+    }
+
+    private static void augmenter(Collection<Employe> employes, Evenement evenement, ReglesRemuneration regles) {
+        CritereAugmentation critere = new CritereAugmentation(Matricule.posteDuType(evenement.getMatricule()),
+                evenement.getNiveauEtude(), evenement.getPerformance());
+        Double salaireMinimum = evenement.getSalaireMinimum();
+        Double salaireMaximum = evenement.getSalaireMaximum();
+        if(critere.getNiveauEtude() != null && salaireMinimum == null && salaireMaximum == null){
+            //Augmentation enregistrée sans sa bande (format 2 du journal) : seules les règles actuelles la donnent
+            salaireMinimum = regles.salaireMinimumBande(critere.getNiveauEtude());
+            salaireMaximum = regles.salaireMaximumBande(critere.getNiveauEtude());
+        }
+        for (Employe employe : employes) {
+            if(critere.concerne(employe, salaireMinimum, salaireMaximum)){
+                try {
+                    employe.augmenterSalaire(evenement.getPourcentage());
+                } catch (EmployeException e) {
+                    throw new IllegalStateException("Augmentation générale invalide dans le journal : " + evenement, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fusionne l'état reconstruit depuis le journal avec les employés en BDD, par matricule et par lots de
+     * {@link EmployeService#TAILLE_LOT} : un employé du journal déjà en BDD est mis à jour, les autres sont créés.
+     * Les employés absents du journal (embauchés avant sa mise en place, ou dont l'embauche est dans un segment
+     * perdu) ne sont pas modifiés. Les matricules et les performances moyennes en mémoire sont à recharger ensuite,
+     * une fois la transaction validée.
+     *
+     * @param lecteur le journal à rejouer
+     * @return le nombre d'employés mis à jour ou créés
+     */
+    @Transactional
+    public int reconstruire(LecteurJournal lecteur) throws IOException {
+        Collection<Employe> employes = rejouer(lecteur);
+        List<Employe> lot = new ArrayList<>(EmployeService.TAILLE_LOT);
+        int nbCrees = 0;
+        for (Employe employe : employes) {
+            lot.add(employe);
+            if(lot.size() == EmployeService.TAILLE_LOT){
+                nbCrees += fusionnerLot(lot);
+            }
+        }
+        nbCrees += fusionnerLot(lot);
+        logger.info("{} employés reconstruits depuis le journal : {} mis à jour, {} créés, {} absents du journal conservés",
+                employes.size(), employes.size() - nbCrees, nbCrees, employeRepository.count() - employes.size());
+        return employes.size();
+    }
+
+    /**
+     * @return le nombre d'employés créés
+     */
+    private int fusionnerLot(List<Employe> lot) {
+        List<Matricule> matricules = new ArrayList<>(lot.size());
+        for (Employe employe : lot) {
+            matricules.add(Matricule.deCode(employe.getCodeMatricule()));
+        }
+        Map<Integer, Employe> existants = new HashMap<>();
+        if(!matricules.isEmpty()){
+            for (Employe existant : employeRepository.findByMatriculeIn(matricules)) {
+                existants.put(existant.getCodeMatricule(), existant);
+            }
+        }
+        List<Employe> nouveaux = new ArrayList<>();
+        for (Employe employe : lot) {
+            Employe existant = existants.get(employe.getCodeMatricule());
+            if(existant == null){
+                nouveaux.add(employe);
+            } else {
+                existant.setNom(employe.getNom());
+                existant.setPrenom(employe.getPrenom());
+                existant.setDateEmbauche(employe.getDateEmbauche());
+                existant.setSalaire(employe.getSalaire());
+                existant.setPerformance(employe.getPerformance());
+                existant.setTempsPartiel(employe.getTempsPartiel());
+            }
+        }
+        employeRepository.saveAll(nouveaux);
+        employeRepository.flush();
+        entityManager.clear();
+        lot.clear();
+        return nouveaux.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.service.MatriculeService;
+import com.ipiecoles.java.java350.service.PerformanceMoyenneService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Outil de reconstruction de la table des employés, lancé au démarrage avec --java350.journal.reconstruction=true.
+ */
+@Component
+@ConditionalOnProperty(name = "java350.journal.reconstruction", havingValue = "true")
+public class ReconstructionEmployesRunner implements ApplicationRunner {
+
+    @Autowired
+    private ReconstructionEmployes reconstructionEmployes;
+
+    @Autowired
+    private JournalEvenements journalEvenements;
+
+    @Autowired
+    private MatriculeService matriculeService;
+
+    @Autowired
+    private PerformanceMoyenneService performanceMoyenneService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        journalEvenements.forcer();
+        reconstructionEmployes.reconstruire(new LecteurJournal(journalEvenements.getRepertoire()));
+        matriculeService.initialiser();
+        performanceMoyenneService.reconcilier();
+    }
+}
@@ -0,0 +1,34 @@
+package com.ipiecoles.java.java350.journal;
+
+/**
+ * Types des évènements du journal, avec leur code dans le fichier (0 étant réservé à la fin des données).
+ */
+public enum TypeEvenement {
+    EMBAUCHE((byte) 1),
+    PERFORMANCE((byte) 2),
+    AUGMENTATION_SALAIRE((byte) 3),
+    AUGMENTATION_GENERALE((byte) 4);
+
+    private final byte code;
+
+    TypeEvenement(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @param code le code lu dans le journal
+     * @return le type correspondant, null pour un code inconnu
+     */
+    public static TypeEvenement depuisCode(byte code) {
+        for (TypeEvenement type : values()) {
+            if(type.code == code){
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ipiecoles.java.java350.logging;
+
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.util.Duration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fichier de logs tournant écrit par blocs : avec immediateFlush à false, les lignes sont accumulées dans le tampon
+ * du fichier (bufferSize) et écrites sur le disque quand il est plein, ou au plus tard toutes les flushPeriod pour
+ * que le fichier ne reste pas en retard quand il y a peu de logs.
+ */
+public class FlushPeriodiqueRollingFileAppender<E> extends RollingFileAppender<E> {
+
+    private Duration flushPeriod = Duration.buildBySeconds(1);
+
+    private ScheduledFuture<?> flushPlanifie;
+
+    public void setFlushPeriod(Duration flushPeriod) {
+        this.flushPeriod = flushPeriod;
+    }
+
+    public Duration getFlushPeriod() {
+        return flushPeriod;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if(isStarted() && !isImmediateFlush()){
+            long periode = flushPeriod.getMilliseconds();
+            flushPlanifie = getContext().getScheduledExecutorService()
+                    .scheduleAtFixedRate(this::flush, periode, periode, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if(flushPlanifie != null){
+            flushPlanifie.cancel(false);
+            flushPlanifie = null;
+        }
+        //La fermeture du fichier écrit le contenu du tampon
+        super.stop();
+    }
+
+    /**
+     * Écrit sur le disque le contenu du tampon, sous le verrou de l'appender pour ne pas couper une ligne en cours.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            OutputStream outputStream = getOutputStream();
+            if(outputStream != null){
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            addError("Échec de l'écriture des logs dans " + getFile(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
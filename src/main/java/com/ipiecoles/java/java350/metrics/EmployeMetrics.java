@@ -0,0 +1,91 @@
+package com.ipiecoles.java.java350.metrics;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques des méthodes de {@link com.ipiecoles.java.java350.service.EmployeService}, exposées par l'endpoint
+ * Actuator metrics.
+ *
+ * Tous les timers sont créés au démarrage pour chaque combinaison de tags : l'enregistrement d'une mesure ne fait
+ * qu'un accès tableau, sans recherche ni allocation.
+ */
+@Component
+public class EmployeMetrics {
+
+    public static final String TAG_RESULTAT = "outcome";
+    static final String[] RESULTATS = {"success", "EmployeException", "other"};
+    //Index utilisé quand le poste ou le niveau d'étude n'est pas renseigné
+    private static final String AUCUN = "none";
+
+    private final Timer[][][] embauches = new Timer[Poste.values().length + 1][NiveauEtude.values().length + 1][RESULTATS.length];
+
+    private final Counter[] employesEmbauches = new Counter[Poste.values().length + 1];
+
+    private final Timer[] calculsPerformanceCommercial = new Timer[RESULTATS.length];
+
+    private final Timer[] calculsPerformanceSuperieur = new Timer[RESULTATS.length];
+
+    public EmployeMetrics(MeterRegistry meterRegistry) {
+        for (int p = 0; p <= Poste.values().length; p++) {
+            String poste = p < Poste.values().length ? Poste.values()[p].name() : AUCUN;
+            employesEmbauches[p] = Counter.builder("java350.employe.embauches")
+                    .description("Nombre d'employés embauchés")
+                    .tag("poste", poste)
+                    .register(meterRegistry);
+            for (int n = 0; n <= NiveauEtude.values().length; n++) {
+                String niveauEtude = n < NiveauEtude.values().length ? NiveauEtude.values()[n].name() : AUCUN;
+                for (int r = 0; r < RESULTATS.length; r++) {
+                    embauches[p][n][r] = timer("java350.employe.embauche", RESULTATS[r])
+                            .tag("poste", poste)
+                            .tag("niveauEtude", niveauEtude)
+                            .register(meterRegistry);
+                }
+            }
+        }
+        for (int r = 0; r < RESULTATS.length; r++) {
+            calculsPerformanceCommercial[r] = timer("java350.employe.performance.commercial", RESULTATS[r]).register(meterRegistry);
+            calculsPerformanceSuperieur[r] = timer("java350.employe.performance.superieur", RESULTATS[r]).register(meterRegistry);
+        }
+    }
+
+    public void enregistrerEmbauche(Poste poste, NiveauEtude niveauEtude, Throwable erreur, long dureeNanos) {
+        int p = poste == null ? Poste.values().length : poste.ordinal();
+        int n = niveauEtude == null ? NiveauEtude.values().length : niveauEtude.ordinal();
+        embauches[p][n][indexResultat(erreur)].record(dureeNanos, TimeUnit.NANOSECONDS);
+        if(erreur == null){
+            employesEmbauches[p].increment();
+        }
+    }
+
+    public void enregistrerCalculPerformanceCommercial(Throwable erreur, long dureeNanos) {
+        calculsPerformanceCommercial[indexResultat(erreur)].record(dureeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void enregistrerCalculPerformanceSuperieur(Throwable erreur, long dureeNanos) {
+        calculsPerformanceSuperieur[indexResultat(erreur)].record(dureeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static Timer.Builder timer(String nom, String resultat) {
+        return Timer.builder(nom)
+                .tag(TAG_RESULTAT, resultat)
+                .publishPercentileHistogram();
+    }
+
+    static int indexResultat(Throwable erreur) {
+        if(erreur == null){
+            return 0;
+        }
+        if(erreur instanceof EmployeException){
+            return 1;
+        }
+        return 2;
+    }
+}
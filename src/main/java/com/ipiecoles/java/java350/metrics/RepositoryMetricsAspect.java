@@ -0,0 +1,61 @@
+package com.ipiecoles.java.java350.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la durée de chaque requête de {@link com.ipiecoles.java.java350.repository.EmployeRepository}, par méthode
+ * et par résultat.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    //Timers par méthode, indexés par EmployeMetrics.indexResultat
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("this(com.ipiecoles.java.java350.repository.EmployeRepository)")
+    public Object mesurer(ProceedingJoinPoint joinPoint) throws Throwable {
+        long debut = System.nanoTime();
+        Throwable erreur = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            erreur = e;
+            throw e;
+        } finally {
+            Method methode = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Timer[] timersMethode = timers.get(methode);
+            if(timersMethode == null){
+                timersMethode = timers.computeIfAbsent(methode, this::creerTimers);
+            }
+            timersMethode[EmployeMetrics.indexResultat(erreur)].record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] creerTimers(Method methode) {
+        Timer[] timersMethode = new Timer[EmployeMetrics.RESULTATS.length];
+        for (int r = 0; r < timersMethode.length; r++) {
+            timersMethode[r] = EmployeMetrics.timer("java350.repository.employe", EmployeMetrics.RESULTATS[r])
+                    .tag("method", methode.getName())
+                    .register(meterRegistry);
+        }
+        return timersMethode;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.LocalDate;
+
+/**
+ * Noyau des calculs de paie (ancienneté, congés, RTT, prime annuelle) sur des types primitifs.
+ *
+ * La date de référence est passée en paramètre, ce qui permet de ne lire l'horloge qu'une fois pour tout un
+ * traitement de paie ; de même les règles de rémunération peuvent être passées en paramètre pour qu'un traitement
+ * applique une seule version des règles (les méthodes sans ce paramètre utilisent les règles en vigueur). Aucune de
+ * ces méthodes n'alloue d'objet. Les getters de {@link Employe} délèguent à cette classe.
+ */
+public final class CalculPaie {
+
+    private static final int PERFORMANCE_BASE = Entreprise.PERFORMANCE_BASE;
+
+    private CalculPaie() {
+
+    }
+
+    /**
+     * @param dateEmbauche la date d'embauche, éventuellement nulle
+     * @param dateReference la date à laquelle on calcule l'ancienneté
+     * @return le nombre d'années d'ancienneté, 0 si la date d'embauche est nulle ou n'est pas antérieure à la date de référence
+     */
+    public static int nombreAnneeAnciennete(LocalDate dateEmbauche, LocalDate dateReference) {
+        if(dateEmbauche != null && dateEmbauche.isBefore(dateReference)){
+            return dateReference.getYear() - dateEmbauche.getYear();
+        }
+        return 0;
+    }
+
+    public static int nbConges(int anciennete) {
+        return nbConges(Entreprise.regles(), anciennete);
+    }
+
+    public static int nbConges(ReglesRemuneration regles, int anciennete) {
+        return regles.getNbCongesBase() + anciennete;
+    }
+
+    /**
+     * @param calendrier le calendrier de l'année
+     * @param nbConges le nombre de jours de congés de l'employé
+     * @param tempsPartiel le taux d'activité de l'employé
+     * @return le nombre de jours de RTT, au prorata du temps partiel et arrondi au supérieur
+     */
+    public static int nbRtt(CalendrierAnnee calendrier, int nbConges, double tempsPartiel) {
+        return nbRtt(Entreprise.regles(), calendrier, nbConges, tempsPartiel);
+    }
+
+    public static int nbRtt(ReglesRemuneration regles, CalendrierAnnee calendrier, int nbConges, double tempsPartiel) {
+        int nbRtt = calendrier.getNbJoursAnnee()
+                - regles.getNbJoursMaxForfait()
+                - calendrier.getNbJoursWeekend()
+                - nbConges
+                - calendrier.getNbJoursFeriesOuvres();
+        return (int)Math.ceil(nbRtt * tempsPartiel);
+    }
+
+    /**
+     * Prime annuelle, voir {@link Employe#getPrimeAnnuelle()} pour la règle de calcul.
+     *
+     * @param manager vrai si l'employé est un manager (matricule commençant par M)
+     * @param performance la performance de l'employé (la performance de base si elle n'est pas renseignée)
+     * @param anciennete le nombre d'années d'ancienneté
+     * @param tempsPartiel le taux d'activité de l'employé
+     * @return la prime annuelle en Euros et cents
+     */
+    public static double primeAnnuelle(boolean manager, int performance, int anciennete, double tempsPartiel) {
+        return primeAnnuelle(Entreprise.regles(), manager, performance, anciennete, tempsPartiel);
+    }
+
+    public static double primeAnnuelle(ReglesRemuneration regles, boolean manager, int performance, int anciennete, double tempsPartiel) {
+        double primeAnciennete = regles.getPrimeAnciennete() * anciennete;
+        double prime;
+        if(manager) {
+            prime = regles.getPrimeBase() * regles.getIndicePrimeManager() + primeAnciennete;
+        }
+        else if (performance == PERFORMANCE_BASE){
+            prime = regles.getPrimeBase() + primeAnciennete;
+        }
+        else {
+            prime = regles.getPrimeBase() * (performance + regles.getIndicePrimeBase()) + primeAnciennete;
+        }
+        return (prime * tempsPartiel * 100)/100.0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Calendrier d'une année : jours fériés et décomptes utilisés pour le calcul des RTT.
+ * Ne dépend que de l'année, il est donc calculé une seule fois par année et partagé (voir {@link Entreprise#calendrier(int)}).
+ */
+public final class CalendrierAnnee {
+
+    private final int annee;
+
+    private final List<LocalDate> joursFeries;
+
+    private final int nbJoursAnnee;
+
+    private final int nbJoursWeekend;
+
+    private final int nbJoursFeriesOuvres;
+
+    CalendrierAnnee(int annee, List<LocalDate> joursFeries) {
+        this.annee = annee;
+        this.joursFeries = Collections.unmodifiableList(joursFeries);
+
+        boolean bissextile = LocalDate.of(annee, 1, 1).isLeapYear();
+        this.nbJoursAnnee = bissextile ? 365 : 366;
+
+        int weekend = 104;
+        switch (LocalDate.of(annee,1,1).getDayOfWeek()){
+            case THURSDAY:
+                if(bissextile) weekend += 1;
+                break;
+            case FRIDAY:
+                if(bissextile) weekend += 2;
+                else weekend += 1;
+                break;
+            case SATURDAY:
+                weekend += 1;
+                break;
+            default:
+                break;
+        }
+        this.nbJoursWeekend = weekend;
+
+        int feriesOuvres = 0;
+        for (LocalDate jourFerie : joursFeries) {
+            if(jourFerie.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue()){
+                feriesOuvres++;
+            }
+        }
+        this.nbJoursFeriesOuvres = feriesOuvres;
+    }
+
+    public int getAnnee() {
+        return annee;
+    }
+
+    /**
+     * @return les jours fériés de l'année (liste non modifiable)
+     */
+    public List<LocalDate> getJoursFeries() {
+        return joursFeries;
+    }
+
+    public boolean estJourFerie(LocalDate date) {
+        return date.getYear() == annee && joursFeries.contains(date);
+    }
+
+    public int getNbJoursAnnee() {
+        return nbJoursAnnee;
+    }
+
+    /**
+     * @return le nombre de jours de repos hebdomadaires (samedis et dimanches) de l'année
+     */
+    public int getNbJoursWeekend() {
+        return nbJoursWeekend;
+    }
+
+    /**
+     * @return le nombre de jours fériés tombant un jour ouvré (du lundi au vendredi)
+     */
+    public int getNbJoursFeriesOuvres() {
+        return nbJoursFeriesOuvres;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Employés concernés par une augmentation générale. Les critères null ne filtrent pas, un critère sans aucun
+ * filtre concerne toute l'entreprise. Seuls les employés ayant un salaire sont augmentés.
+ */
+public class CritereAugmentation {
+
+    private final Poste poste;
+
+    private final NiveauEtude niveauEtude;
+
+    private final Integer performanceMinimum;
+
+    /**
+     * @param poste les employés de ce poste (première lettre du matricule)
+     * @param niveauEtude les employés dont le salaire équivalent temps plein est dans la bande de ce niveau d'étude
+     *                    (voir {@link ReglesRemuneration#salaireMinimumBande(NiveauEtude)})
+     * @param performanceMinimum les employés ayant au moins cette performance
+     */
+    public CritereAugmentation(Poste poste, NiveauEtude niveauEtude, Integer performanceMinimum) {
+        this.poste = poste;
+        this.niveauEtude = niveauEtude;
+        this.performanceMinimum = performanceMinimum;
+    }
+
+    public static CritereAugmentation tous() {
+        return new CritereAugmentation(null, null, null);
+    }
+
+    /**
+     * Application du critère à un employé en mémoire, identique à la requête de mise à jour en masse.
+     *
+     * @param regles les règles de rémunération donnant la bande de salaire du niveau d'étude, les mêmes pour tous
+     *               les employés d'une augmentation
+     */
+    public boolean concerne(Employe employe, ReglesRemuneration regles) {
+        if(niveauEtude == null){
+            return concerne(employe, null, null);
+        }
+        return concerne(employe, regles.salaireMinimumBande(niveauEtude), regles.salaireMaximumBande(niveauEtude));
+    }
+
+    /**
+     * Application du critère à un employé en mémoire, avec une bande de salaire déjà déterminée, par exemple
+     * celle enregistrée dans le journal lors de l'augmentation.
+     *
+     * @param salaireMinimum le salaire équivalent temps plein minimum de la bande, null si elle n'a pas de minimum
+     * @param salaireMaximum le salaire équivalent temps plein maximum (exclu) de la bande, null si elle n'a pas de
+     *                       maximum
+     */
+    public boolean concerne(Employe employe, Double salaireMinimum, Double salaireMaximum) {
+        if(employe.getSalaire() == null){
+            return false;
+        }
+        if(poste != null && !getTypeEmploye().equals(employe.getTypeEmploye())){
+            return false;
+        }
+        if(niveauEtude != null){
+            double tempsPartiel = employe.getTempsPartiel() == null ? 1.0 : employe.getTempsPartiel();
+            if(salaireMinimum != null && employe.getSalaire() < salaireMinimum * tempsPartiel
+                    || salaireMaximum != null && employe.getSalaire() >= salaireMaximum * tempsPartiel){
+                return false;
+            }
+        }
+        return performanceMinimum == null
+                || employe.getPerformance() != null && employe.getPerformance() >= performanceMinimum;
+    }
+
+    public Poste getPoste() {
+        return poste;
+    }
+
+    /**
+     * @return la première lettre du poste, null si le critère ne porte pas sur le poste
+     */
+    public String getTypeEmploye() {
+        return poste == null ? null : Matricule.typeEmploye(poste);
+    }
+
+    public NiveauEtude getNiveauEtude() {
+        return niveauEtude;
+    }
+
+    public Integer getPerformanceMinimum() {
+        return performanceMinimum;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.LocalDate;
+
+/**
+ * Filtres de la liste des employés. Les critères null ne filtrent pas.
+ */
+public class CritereRecherche {
+
+    private final String prefixeMatricule;
+
+    private final LocalDate dateEmbaucheMin;
+
+    private final LocalDate dateEmbaucheMax;
+
+    private final Integer performanceMinimum;
+
+    /**
+     * @param prefixeMatricule les employés dont le matricule commence par ce préfixe, une lettre suivie de 0 à 5
+     *                         chiffres (par exemple "C" ou "C001")
+     * @param dateEmbaucheMin les employés embauchés à cette date ou après
+     * @param dateEmbaucheMax les employés embauchés à cette date ou avant
+     * @param performanceMinimum les employés ayant au moins cette performance
+     */
+    public CritereRecherche(String prefixeMatricule, LocalDate dateEmbaucheMin, LocalDate dateEmbaucheMax, Integer performanceMinimum) {
+        this.prefixeMatricule = prefixeMatricule;
+        this.dateEmbaucheMin = dateEmbaucheMin;
+        this.dateEmbaucheMax = dateEmbaucheMax;
+        this.performanceMinimum = performanceMinimum;
+    }
+
+    public static CritereRecherche tous() {
+        return new CritereRecherche(null, null, null, null);
+    }
+
+    public String getPrefixeMatricule() {
+        return prefixeMatricule;
+    }
+
+    public LocalDate getDateEmbaucheMin() {
+        return dateEmbaucheMin;
+    }
+
+    public LocalDate getDateEmbaucheMax() {
+        return dateEmbaucheMax;
+    }
+
+    public Integer getPerformanceMinimum() {
+        return performanceMinimum;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Nombre d'employés ayant une même performance, calculé par la BDD (voir EmployeRepository#findEffectifParPerformance).
+ */
+public interface EffectifPerformance {
+
+    /**
+     * @return la performance, null pour les employés sans performance
+     */
+    Integer getPerformance();
+
+    Long getNbEmployes();
+}
@@ -1,44 +1,88 @@
 package com.ipiecoles.java.java350.model;
 
 import com.ipiecoles.java.java350.exception.EmployeException;
-
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import java.time.DayOfWeek;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(EmployeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_employe_matricule", columnNames = "matricule"),
+        indexes = {
+                @Index(name = "idx_employe_type_employe_matricule", columnList = "typeEmploye, matricule"),
+                //Index couvrants des agrégats de EmployeRepository
+                @Index(name = "idx_employe_type_employe_salaire", columnList = "typeEmploye, salaire"),
+                @Index(name = "idx_employe_date_embauche_salaire", columnList = "dateEmbauche, salaire"),
+                @Index(name = "idx_employe_performance", columnList = "performance")
+        })
 public class Employe {
 
 
+    //Séquence avec allocation par blocs : les ids sont connus avant l'insertion, ce qui permet le batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employe_seq")
+    @SequenceGenerator(name = "employe_seq", sequenceName = "employe_seq", allocationSize = 50)
     private Long id;
 
     private String nom;
 
     private String prenom;
 
-    private String matricule;
+    @NaturalId(mutable = true)
+    @Convert(converter = MatriculeConverter.class)
+    private Matricule matricule;
+
+    //Première lettre du matricule, persistée pour que les requêtes par type d'employé utilisent un index
+    @Column(length = 1)
+    private String typeEmploye;
 
     private LocalDate dateEmbauche;
 
-    private Double salaire = Entreprise.SALAIRE_BASE;
+    private Double salaire = Entreprise.regles().getSalaireBase();
 
     private Integer performance = Entreprise.PERFORMANCE_BASE;
 
     private Double tempsPartiel = 1.0;
 
+    //Verrouillage optimiste : une mise à jour faite sur une version périmée de l'employé échoue au lieu d'écraser l'autre
+    @Version
+    private Long version;
+
+    //Matricule et performance tels qu'enregistrés en BDD, pour la mise à jour des cumuls de performance
+    @Transient
+    private Matricule matriculeEnregistre;
+
+    @Transient
+    private Integer performanceEnregistree;
+
     public Employe() {
     }
 
     public Employe(String nom, String prenom, String matricule, LocalDate dateEmbauche, Double salaire, Integer performance, Double tempsPartiel) {
         this.nom = nom;
         this.prenom = prenom;
-        this.matricule = matricule;
+        setMatricule(matricule);
         this.dateEmbauche = dateEmbauche;
         this.salaire = salaire;
         this.performance = performance;
@@ -53,15 +97,32 @@ public class Employe {
      * @return le nombre d'année d'ancienneté
      */
     public Integer getNombreAnneeAnciennete() {
-        if(dateEmbauche != null && dateEmbauche.isBefore(LocalDate.now())){
-            return LocalDate.now().getYear() - dateEmbauche.getYear();
-        }
-        return 0;
+        return nombreAnneeAnciennete(LocalDate.now());
+    }
 
+    /**
+     * @param dateReference la date à laquelle on calcule l'ancienneté
+     * @return le nombre d'année d'ancienneté à la date de référence
+     */
+    public int nombreAnneeAnciennete(LocalDate dateReference) {
+        return CalculPaie.nombreAnneeAnciennete(dateEmbauche, dateReference);
     }
 
     public Integer getNbConges() {
-        return Entreprise.NB_CONGES_BASE + this.getNombreAnneeAnciennete();
+        return nbConges(LocalDate.now());
+    }
+
+    public int nbConges(LocalDate dateReference) {
+        return nbConges(dateReference, Entreprise.regles());
+    }
+
+    /**
+     * @param dateReference la date à laquelle on calcule l'ancienneté
+     * @param regles les règles de rémunération à appliquer
+     * @return le nombre de jours de congés
+     */
+    public int nbConges(LocalDate dateReference, ReglesRemuneration regles) {
+        return CalculPaie.nbConges(regles, nombreAnneeAnciennete(dateReference));
     }
 
 
@@ -72,7 +133,27 @@ public class Employe {
      */
 
     public Integer getNbRtt(){
-        return getNbRtt(LocalDate.now());
+        return nbRtt(LocalDate.now());
+    }
+
+    /**
+     * Nombre de jours de RTT pour l'année de la date de référence, l'ancienneté étant calculée à cette même date
+     *
+     * @param dateReference la date de référence
+     * @return le nombre de jours de RTT
+     */
+    public int nbRtt(LocalDate dateReference){
+        return nbRtt(dateReference, Entreprise.regles());
+    }
+
+    /**
+     * @param dateReference la date de référence
+     * @param regles les règles de rémunération à appliquer
+     * @return le nombre de jours de RTT
+     * @see #nbRtt(LocalDate)
+     */
+    public int nbRtt(LocalDate dateReference, ReglesRemuneration regles){
+        return CalculPaie.nbRtt(regles, Entreprise.calendrier(dateReference.getYear()), nbConges(dateReference, regles), tempsPartiel);
     }
 
 
@@ -86,42 +167,15 @@ public class Employe {
      *
      * Au prorata de son pourcentage d'activité (arrondi au supérieur) * temps partiel (1.0)
      *
+     * Même calcul que {@link #nbRtt(LocalDate)} : les congés dépendent de l'ancienneté à cette date, pas à
+     * aujourd'hui.
+     *
+     * @param anneeDefinit une date de l'année voulue, à laquelle l'ancienneté est calculée
      */
 
 
     public Integer getNbRtt(LocalDate anneeDefinit){
-        int nbrJoursAnnee = anneeDefinit.isLeapYear() ? 365 : 366;
-        int weekend = 104;
-
-        switch (LocalDate.of(anneeDefinit.getYear(),1,1).getDayOfWeek()){
-            case THURSDAY:
-                if(anneeDefinit.isLeapYear()) weekend += 1;
-                break;
-            case FRIDAY:
-                if(anneeDefinit.isLeapYear()) weekend += 2;
-                else weekend += 1;
-                break;
-            case SATURDAY:
-                weekend += 1;
-                break;
-             default:
-                 break;
-        }
-
-        Long jourFeriesOuvres = Entreprise.joursFeries(anneeDefinit).stream().filter(localDate -> localDate.getDayOfWeek().getValue() <= DayOfWeek.FRIDAY.getValue()).count();
-
-        Integer NB_CONGES_BASE = this.getNbConges();
-
-        Integer NbRtt = nbrJoursAnnee
-                        - Entreprise.NB_JOURS_MAX_FORFAIT
-                        - weekend
-                        - NB_CONGES_BASE
-                        - jourFeriesOuvres.intValue();
-
-                NbRtt = (int)Math.ceil(NbRtt * this.getTempsPartiel());
-
-        return NbRtt;
-
+        return nbRtt(anneeDefinit);
     }
 
     /**
@@ -137,25 +191,32 @@ public class Employe {
      * @return la prime annuelle de l'employé en Euros et cents
      */
     public Double getPrimeAnnuelle(){
-        //Calcule de la prime d'ancienneté
-        Double primeAnciennete = Entreprise.PRIME_ANCIENNETE * this.getNombreAnneeAnciennete();
-        Double prime;
-        //Prime du manager (matricule commençant par M) : Prime annuelle de base multipliée par l'indice prime manager
-        //plus la prime d'anciennté.
-        if(matricule != null && matricule.startsWith("M")) {
-            prime = Entreprise.primeAnnuelleBase() * Entreprise.INDICE_PRIME_MANAGER + primeAnciennete;
-        }
-        //Pour les autres employés en performance de base, uniquement la prime annuelle plus la prime d'ancienneté.
-        else if (this.performance == null || Entreprise.PERFORMANCE_BASE.equals(this.performance)){
-            prime = Entreprise.primeAnnuelleBase() + primeAnciennete;
-        }
-        //Pour les employés plus performance, on bonnifie la prime de base en multipliant par la performance de l'employé
-        // et l'indice de prime de base.
-        else {
-            prime = Entreprise.primeAnnuelleBase() * (this.performance + Entreprise.INDICE_PRIME_BASE) + primeAnciennete;
-        }
-        //Au pro rata du temps partiel.
-        return (prime * this.tempsPartiel * 100)/100.0;
+        return primeAnnuelle(LocalDate.now());
+    }
+
+    /**
+     * Prime annuelle calculée avec l'ancienneté à la date de référence, voir {@link #getPrimeAnnuelle()}
+     *
+     * @param dateReference la date de référence
+     * @return la prime annuelle de l'employé en Euros et cents
+     */
+    public double primeAnnuelle(LocalDate dateReference){
+        return primeAnnuelle(dateReference, Entreprise.regles());
+    }
+
+    /**
+     * @param dateReference la date de référence
+     * @param regles les règles de rémunération à appliquer
+     * @return la prime annuelle de l'employé en Euros et cents
+     * @see #getPrimeAnnuelle()
+     */
+    public double primeAnnuelle(LocalDate dateReference, ReglesRemuneration regles){
+        //Les employés dont la performance n'est pas renseignée sont en performance de base
+        return CalculPaie.primeAnnuelle(regles,
+                matricule != null && matricule.estDuType('M'),
+                performance == null ? Entreprise.PERFORMANCE_BASE : performance,
+                nombreAnneeAnciennete(dateReference),
+                tempsPartiel);
     }
 
     /**Augmenter le salaire :
@@ -218,14 +279,30 @@ public class Employe {
      * @return the matricule
      */
     public String getMatricule() {
-        return matricule;
+        return matricule == null ? null : matricule.toString();
+    }
+
+    /**
+     * @return le matricule codé dans un int (voir {@link Matricule}), {@link Matricule#INVALIDE} s'il est null
+     */
+    public int getCodeMatricule() {
+        return matricule == null ? Matricule.INVALIDE : matricule.getCode();
     }
 
     /**
      * @param matricule the matricule to set
+     * @throws IllegalArgumentException si le matricule n'est pas une lettre majuscule suivie de 5 chiffres
      */
     public void setMatricule(String matricule) {
-        this.matricule = matricule;
+        this.matricule = matricule == null ? null : Matricule.valueOf(matricule);
+        this.typeEmploye = this.matricule == null ? null : String.valueOf(this.matricule.getLettre());
+    }
+
+    /**
+     * @return le type d'employé, c'est à dire la première lettre du matricule
+     */
+    public String getTypeEmploye() {
+        return typeEmploye;
     }
 
     /**
@@ -273,6 +350,26 @@ public class Employe {
         this.tempsPartiel = tempsPartiel;
     }
 
+    void memoriserEtatEnregistre() {
+        this.matriculeEnregistre = this.matricule;
+        this.performanceEnregistree = this.performance;
+    }
+
+    String getMatriculeEnregistre() {
+        return matriculeEnregistre == null ? null : matriculeEnregistre.toString();
+    }
+
+    Integer getPerformanceEnregistree() {
+        return performanceEnregistree;
+    }
+
+    /**
+     * @return la version de l'employé en BDD, null s'il n'a jamais été enregistré
+     */
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
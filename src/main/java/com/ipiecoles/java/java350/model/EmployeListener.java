@@ -0,0 +1,77 @@
+package com.ipiecoles.java.java350.model;
+
+import com.ipiecoles.java.java350.service.PerformanceMoyenneService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.*;
+
+/**
+ * Répercute les insertions, modifications et suppressions d'employés sur les cumuls de
+ * {@link PerformanceMoyenneService}. Le service peut être absent (tests de repository), auquel cas rien n'est fait.
+ *
+ * Dans une transaction, les cumuls ne sont modifiés qu'après sa validation : une mise à jour annulée (conflit de
+ * version, erreur) ne les fausse pas.
+ */
+public class EmployeListener {
+
+    @Autowired
+    private ObjectProvider<PerformanceMoyenneService> performanceMoyenneService;
+
+    @PostLoad
+    public void apresChargement(Employe employe) {
+        employe.memoriserEtatEnregistre();
+    }
+
+    @PostPersist
+    public void apresInsertion(Employe employe) {
+        PerformanceMoyenneService service = performanceMoyenneService.getIfAvailable();
+        if(service != null){
+            String matricule = employe.getMatricule();
+            Integer performance = employe.getPerformance();
+            apresValidation(() -> service.ajouter(matricule, performance));
+        }
+        employe.memoriserEtatEnregistre();
+    }
+
+    @PostUpdate
+    public void apresModification(Employe employe) {
+        PerformanceMoyenneService service = performanceMoyenneService.getIfAvailable();
+        if(service != null){
+            String ancienMatricule = employe.getMatriculeEnregistre();
+            Integer anciennePerformance = employe.getPerformanceEnregistree();
+            String matricule = employe.getMatricule();
+            Integer performance = employe.getPerformance();
+            apresValidation(() -> {
+                service.retirer(ancienMatricule, anciennePerformance);
+                service.ajouter(matricule, performance);
+            });
+        }
+        employe.memoriserEtatEnregistre();
+    }
+
+    @PostRemove
+    public void apresSuppression(Employe employe) {
+        PerformanceMoyenneService service = performanceMoyenneService.getIfAvailable();
+        if(service != null){
+            String matricule = employe.getMatriculeEnregistre();
+            Integer performance = employe.getPerformanceEnregistree();
+            apresValidation(() -> service.retirer(matricule, performance));
+        }
+    }
+
+    private void apresValidation(Runnable modification) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            modification.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                modification.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.LocalDate;
+
+/**
+ * Vue en lecture seule d'un employé pour les listes : seules les colonnes affichées sont lues, sans charger
+ * l'entité {@link Employe} dans le contexte de persistance.
+ */
+public class EmployeResume {
+
+    private final String matricule;
+
+    private final String nom;
+
+    private final String prenom;
+
+    private final LocalDate dateEmbauche;
+
+    private final Double salaire;
+
+    private final Integer performance;
+
+    private final Double tempsPartiel;
+
+    public EmployeResume(Matricule matricule, String nom, String prenom, LocalDate dateEmbauche, Double salaire, Integer performance, Double tempsPartiel) {
+        this.matricule = matricule == null ? null : matricule.toString();
+        this.nom = nom;
+        this.prenom = prenom;
+        this.dateEmbauche = dateEmbauche;
+        this.salaire = salaire;
+        this.performance = performance;
+        this.tempsPartiel = tempsPartiel;
+    }
+
+    public String getMatricule() {
+        return matricule;
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public String getPrenom() {
+        return prenom;
+    }
+
+    public LocalDate getDateEmbauche() {
+        return dateEmbauche;
+    }
+
+    public Double getSalaire() {
+        return salaire;
+    }
+
+    public Integer getPerformance() {
+        return performance;
+    }
+
+    public Double getTempsPartiel() {
+        return tempsPartiel;
+    }
+}
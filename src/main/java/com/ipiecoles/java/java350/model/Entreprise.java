@@ -2,80 +2,185 @@ package com.ipiecoles.java.java350.model;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class Entreprise {
-    public static final Double SALAIRE_BASE = 1521.22;
-    public static final Integer NB_CONGES_BASE = 25;
-    public static final Double INDICE_PRIME_BASE = 0.3;
-    public static final Double INDICE_PRIME_MANAGER = 1.7;
-    public static final Double PRIME_ANCIENNETE = 100d;
+    //Valeurs des règles de rémunération par défaut, les calculs utilisent les règles en vigueur (voir regles())
+    public static final Double SALAIRE_BASE = ReglesRemuneration.DEFAUT.getSalaireBase();
+    public static final Integer NB_CONGES_BASE = ReglesRemuneration.DEFAUT.getNbCongesBase();
+    public static final Double INDICE_PRIME_BASE = ReglesRemuneration.DEFAUT.getIndicePrimeBase();
+    public static final Double INDICE_PRIME_MANAGER = ReglesRemuneration.DEFAUT.getIndicePrimeManager();
+    public static final Double PRIME_ANCIENNETE = ReglesRemuneration.DEFAUT.getPrimeAnciennete();
     public static final Integer PERFORMANCE_BASE = 1;
-    public static final Integer NB_JOURS_MAX_FORFAIT = 218;
-    private static final double PRIME_BASE = 1000d;
+    public static final Integer NB_JOURS_MAX_FORFAIT = ReglesRemuneration.DEFAUT.getNbJoursMaxForfait();
 
-  
-    public static Map<NiveauEtude, Double> getCoeffSalaireEtudes() {
-        return coeffSalaireEtudes;
-    }
+    //Règles de rémunération en vigueur. L'objet n'est jamais modifié : un changement de règles remplace la
+    //référence, un calcul qui a lu la référence applique donc une seule version des règles
+    private static volatile ReglesRemuneration regles = ReglesRemuneration.DEFAUT;
 
-    protected static final Map<NiveauEtude, Double> coeffSalaireEtudes = new EnumMap<>(NiveauEtude.class);
-    private static final Map<Integer, LocalDate> datePaque = new HashMap<>();
+    //Années pour lesquelles la date de Pâques et le calendrier sont conservés en cache, indexés par année - ANNEE_MIN_CACHE
+    private static final int ANNEE_MIN_CACHE = 1900;
+    private static final int ANNEE_MAX_CACHE = 2199;
+    //Dates de Pâques déjà calculées (mois * 100 + jour, 0 si pas encore calculée)
+    private static final int[] cacheMoisJourPaque = new int[ANNEE_MAX_CACHE - ANNEE_MIN_CACHE + 1];
+    private static final AtomicReferenceArray<CalendrierAnnee> calendriers = new AtomicReferenceArray<>(ANNEE_MAX_CACHE - ANNEE_MIN_CACHE + 1);
 
     private Entreprise() {
 
     }
 
-    static {
-
-        coeffSalaireEtudes.put(NiveauEtude.CAP, 1.0);
-        coeffSalaireEtudes.put(NiveauEtude.BAC, 1.1);
-        coeffSalaireEtudes.put(NiveauEtude.BTS_IUT, 1.2);
-        coeffSalaireEtudes.put(NiveauEtude.LICENCE, 1.2);
-        coeffSalaireEtudes.put(NiveauEtude.MASTER, 1.4);
-        coeffSalaireEtudes.put(NiveauEtude.INGENIEUR, 1.6);
-        coeffSalaireEtudes.put(NiveauEtude.DOCTORAT, 1.7);
-
-
-        datePaque.put(2019, LocalDate.of(2019, 4, 21));
-        datePaque.put(2020, LocalDate.of(2020, 4, 12));
-        datePaque.put(2021, LocalDate.of(2021, 4, 4));
-        datePaque.put(2022, LocalDate.of(2022, 4, 17));
-        datePaque.put(2023, LocalDate.of(2023, 4, 9));
-        datePaque.put(2024, LocalDate.of(2024, 3, 31));
-        datePaque.put(2025, LocalDate.of(2025, 4, 20));
-        datePaque.put(2026, LocalDate.of(2026, 4, 5));
-        datePaque.put(2027, LocalDate.of(2027, 3, 28));
-        datePaque.put(2028, LocalDate.of(2028, 4, 16));
-        datePaque.put(2029, LocalDate.of(2029, 4, 1));
-        datePaque.put(2030, LocalDate.of(2030, 4, 21));
-        datePaque.put(2031, LocalDate.of(2031, 4, 13));
-        datePaque.put(2032, LocalDate.of(2032, 3, 28));
-        datePaque.put(2033, LocalDate.of(2033, 4, 17));
-        datePaque.put(2034, LocalDate.of(2034, 4, 9));
-        datePaque.put(2035, LocalDate.of(2035, 3, 25));
-        datePaque.put(2036, LocalDate.of(2036, 4, 13));
-        datePaque.put(2037, LocalDate.of(2037, 4, 5));
-        datePaque.put(2038, LocalDate.of(2038, 4, 25));
-        datePaque.put(2039, LocalDate.of(2039, 4, 10));
-        datePaque.put(2040, LocalDate.of(2040, 4, 1));
-        datePaque.put(2044, LocalDate.of(2044, 4, 17));
-    }
-
     public static final String MATRICULE_INITIAL = "00000";
 
+    /**
+     * @return les règles de rémunération en vigueur. Un traitement portant sur plusieurs employés lit les règles
+     * une seule fois et les passe aux calculs, pour appliquer la même version à tous les employés
+     */
+    public static ReglesRemuneration regles() {
+        return regles;
+    }
+
+    /**
+     * Met en vigueur une nouvelle version des règles de rémunération, sans redémarrage. Les calculs en cours
+     * terminent avec la version qu'ils ont lue.
+     *
+     * @param nouvellesRegles les règles à appliquer
+     */
+    public static void appliquerRegles(ReglesRemuneration nouvellesRegles) {
+        regles = Objects.requireNonNull(nouvellesRegles);
+    }
 
     public static Double primeAnnuelleBase() {
-        return PRIME_BASE;
+        return regles.getPrimeBase();
+    }
+
+    /**
+     * @return la table des coefficients de salaire par niveau d'étude des règles en vigueur, pour affichage
+     * (utiliser {@link #coeffSalaireEtude(NiveauEtude)} pour les calculs)
+     */
+    public static Map<NiveauEtude, Double> getCoeffSalaireEtudes() {
+        return regles.getCoeffSalaireEtudes();
+    }
+
+    /**
+     * @param niveauEtude le niveau d'étude
+     * @return le coefficient appliqué au salaire de base pour ce niveau d'étude, selon les règles en vigueur
+     */
+    public static double coeffSalaireEtude(NiveauEtude niveauEtude) {
+        return regles.coeffSalaireEtude(niveauEtude);
+    }
+
+    /**
+     * Bande de salaire équivalent temps plein d'un niveau d'étude. Les bornes sont à mi-chemin entre le salaire
+     * d'embauche du niveau et ceux des niveaux de coefficient immédiatement inférieur et supérieur, ce qui tolère
+     * l'arrondi du salaire d'embauche. Les niveaux de même coefficient ont la même bande.
+     *
+     * @param niveauEtude le niveau d'étude
+     * @return le salaire minimum (inclus) de la bande selon les règles en vigueur, null pour le coefficient le plus bas
+     */
+    public static Double salaireMinimumBande(NiveauEtude niveauEtude) {
+        return regles.salaireMinimumBande(niveauEtude);
+    }
+
+    /**
+     * @param niveauEtude le niveau d'étude
+     * @return le salaire maximum (exclu) de la bande du niveau selon les règles en vigueur, null pour le coefficient
+     * le plus haut
+     * @see #salaireMinimumBande(NiveauEtude)
+     */
+    public static Double salaireMaximumBande(NiveauEtude niveauEtude) {
+        return regles.salaireMaximumBande(niveauEtude);
     }
 
     public static List<LocalDate> joursFeries(LocalDate now){
+        return calendrier(now.getYear()).getJoursFeries();
+    }
+
+    /**
+     * Calendrier de l'année, calculé au premier appel puis conservé en cache pour les années de 1900 à 2199 (lecture
+     * d'un tableau indexé par l'année, sans hachage ni boxing). Hors de cette plage il est recalculé à chaque appel.
+     *
+     * @param annee l'année
+     * @return le calendrier de l'année
+     */
+    public static CalendrierAnnee calendrier(int annee){
+        if(annee < ANNEE_MIN_CACHE || annee > ANNEE_MAX_CACHE){
+            return calculCalendrier(annee);
+        }
+        int index = annee - ANNEE_MIN_CACHE;
+        CalendrierAnnee calendrier = calendriers.get(index);
+        if(calendrier == null){
+            //Le premier calendrier enregistré est conservé, tous les appelants partagent la même instance
+            calendriers.compareAndSet(index, null, calculCalendrier(annee));
+            calendrier = calendriers.get(index);
+        }
+        return calendrier;
+    }
+
+    private static CalendrierAnnee calculCalendrier(int annee){
+        return new CalendrierAnnee(annee, calculJoursFeries(LocalDate.of(annee, 1, 1)));
+    }
+
+    /**
+     * Date du dimanche de Pâques pour une année du calendrier grégorien.
+     *
+     * @param annee l'année, à partir de 1583
+     * @return la date de Pâques
+     */
+    public static LocalDate datePaque(int annee){
+        int moisJour = moisJourPaque(annee);
+        return LocalDate.of(annee, moisJour / 100, moisJour % 100);
+    }
+
+    /**
+     * Date de Pâques sous la forme mois * 100 + jour (par exemple 421 pour le 21 avril), conservée en cache
+     * pour les années de 1900 à 2199.
+     */
+    static int moisJourPaque(int annee){
+        if(annee < ANNEE_MIN_CACHE || annee > ANNEE_MAX_CACHE){
+            return calculMoisJourPaque(annee);
+        }
+        int moisJour = cacheMoisJourPaque[annee - ANNEE_MIN_CACHE];
+        if(moisJour == 0){
+            //Plusieurs threads peuvent calculer la même valeur en même temps, le résultat est identique
+            moisJour = calculMoisJourPaque(annee);
+            cacheMoisJourPaque[annee - ANNEE_MIN_CACHE] = moisJour;
+        }
+        return moisJour;
+    }
+
+    /**
+     * Algorithme de Meeus/Jones/Butcher (comput grégorien), sans allocation.
+     */
+    static int calculMoisJourPaque(int annee){
+        if(annee < 1583){
+            throw new IllegalArgumentException("La date de Pâques n'est calculée qu'à partir de 1583 (calendrier grégorien) !");
+        }
+        int a = annee % 19;
+        int b = annee / 100;
+        int c = annee % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int mois = (h + l - 7 * m + 114) / 31;
+        int jour = (h + l - 7 * m + 114) % 31 + 1;
+        return mois * 100 + jour;
+    }
+
+    private static List<LocalDate> calculJoursFeries(LocalDate now){
+        LocalDate paque = datePaque(now.getYear());
 
         return Arrays.asList(
                 // 1er janvier	Jour de l’an
                 //2019 MARDI
                 LocalDate.of(now.getYear(), 1,1),
                 // Lendemain du dimanche de Pâques.	Lundi de Pâques
-                datePaque.get(now.getYear()).plusDays(1L),
+                paque.plusDays(1L),
                 // 1er mai	Fête du Travail
                 //2019 MARDI
                 LocalDate.of(now.getYear(), 5,1),
@@ -84,10 +189,10 @@ public final class Entreprise {
                 LocalDate.of(now.getYear(), 5,8),
                 // Jeudi 40 jours après Pâques Ascension Fête chrétienne célébrant la montée de Jésus aux cieux.
                 //2019 ASCENSION JEUDI
-                datePaque.get(now.getYear()).plusDays(40L),
+                paque.plusDays(40L),
                 // Le lundi suivant le dimanche de Pentecôte (le septième après Pâques).
                 //2019 DIMANCHE pentecote
-                datePaque.get(now.getYear()).plusDays(50L),
+                paque.plusDays(50L),
                 // 14 juillet Fête nationale
                 //2019 DIMANCHE FETE NATIONALE
                 LocalDate.of(now.getYear(), 7,14),
@@ -0,0 +1,118 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Instantané des employés en colonnes (un tableau primitif par donnée, indexé par employé), limité à ce qu'il faut
+ * pour calculer la prime annuelle : type d'employé, performance, année d'embauche et temps partiel.
+ *
+ * Une fois chargé, l'instantané permet d'évaluer le coût total des primes pour de nombreux jeux de paramètres sans
+ * relire la BDD : les colonnes sont parcourues séquentiellement par blocs tenant dans le cache du processeur, et
+ * chaque bloc sert à tous les scénarios avant de passer au suivant.
+ *
+ * Les employés sont ajoutés par un seul thread ; l'évaluation ne modifie pas l'instantané.
+ */
+public class InstantaneEmployes {
+
+    //Nombre d'employés d'un bloc : 4096 * (1 + 4 + 4 + 8) octets, soit 68 Ko
+    static final int TAILLE_BLOC = 4096;
+
+    //Type des employés dont le matricule ne correspond à aucun poste
+    public static final byte TYPE_INCONNU = -1;
+
+    //Année d'embauche des employés sans date d'embauche : leur ancienneté est toujours nulle
+    private static final int ANNEE_EMBAUCHE_INCONNUE = Integer.MAX_VALUE;
+
+    private static final byte TYPE_MANAGER = (byte) Poste.MANAGER.ordinal();
+
+    private static final int PERFORMANCE_BASE = Entreprise.PERFORMANCE_BASE;
+
+    private byte[] types;
+
+    private int[] performances;
+
+    private int[] anneesEmbauche;
+
+    private double[] tempsPartiels;
+
+    private int nbEmployes;
+
+    public InstantaneEmployes() {
+        this(1024);
+    }
+
+    /**
+     * @param capacite le nombre d'employés attendu, les colonnes sont agrandies au besoin
+     */
+    public InstantaneEmployes(int capacite) {
+        capacite = Math.max(capacite, 16);
+        types = new byte[capacite];
+        performances = new int[capacite];
+        anneesEmbauche = new int[capacite];
+        tempsPartiels = new double[capacite];
+    }
+
+    /**
+     * Ajoute un employé à l'instantané, avec les mêmes valeurs par défaut que {@link Employe#primeAnnuelle(LocalDate)} :
+     * performance de base si elle n'est pas renseignée, ancienneté nulle sans date d'embauche. Un temps partiel non
+     * renseigné compte comme un temps plein.
+     *
+     * @param employe l'employé
+     */
+    public void ajouter(Employe employe) {
+        if(nbEmployes == types.length){
+            int capacite = types.length + (types.length >> 1);
+            types = Arrays.copyOf(types, capacite);
+            performances = Arrays.copyOf(performances, capacite);
+            anneesEmbauche = Arrays.copyOf(anneesEmbauche, capacite);
+            tempsPartiels = Arrays.copyOf(tempsPartiels, capacite);
+        }
+        types[nbEmployes] = (byte) Matricule.ordinalPoste(employe.getCodeMatricule());
+        performances[nbEmployes] = employe.getPerformance() == null ? PERFORMANCE_BASE : employe.getPerformance();
+        anneesEmbauche[nbEmployes] = employe.getDateEmbauche() == null ? ANNEE_EMBAUCHE_INCONNUE : employe.getDateEmbauche().getYear();
+        tempsPartiels[nbEmployes] = employe.getTempsPartiel() == null ? 1.0 : employe.getTempsPartiel();
+        nbEmployes++;
+    }
+
+    /**
+     * Coût total des primes annuelles de tous les employés pour chaque scénario. Le coût du scénario
+     * {@link ParametresPrime#actuels()} est la somme des {@link Employe#primeAnnuelle(LocalDate)}, aux arrondis des
+     * additions près.
+     *
+     * @param scenarios les jeux de paramètres à évaluer
+     * @param dateReference la date à laquelle est calculée l'ancienneté
+     * @return le coût total en Euros de chaque scénario, dans l'ordre des scénarios
+     */
+    public double[] coutPrimes(ParametresPrime[] scenarios, LocalDate dateReference) {
+        int annee = dateReference.getYear();
+        double[] couts = new double[scenarios.length];
+        for (int debut = 0; debut < nbEmployes; debut += TAILLE_BLOC) {
+            int fin = Math.min(debut + TAILLE_BLOC, nbEmployes);
+            for (int s = 0; s < scenarios.length; s++) {
+                couts[s] += coutPrimesBloc(scenarios[s], annee, debut, fin);
+            }
+        }
+        return couts;
+    }
+
+    private double coutPrimesBloc(ParametresPrime parametres, int annee, int debut, int fin) {
+        double primeBase = parametres.getPrimeBase();
+        double indicePrimeBase = parametres.getIndicePrimeBase();
+        double indicePrimeManager = parametres.getIndicePrimeManager();
+        double primeAnciennete = parametres.getPrimeAnciennete();
+        double cout = 0;
+        for (int i = debut; i < fin; i++) {
+            //Même règle que CalculPaie.primeAnnuelle, sans appel de méthode ni objet dans la boucle
+            double indice = types[i] == TYPE_MANAGER ? indicePrimeManager
+                    : performances[i] == PERFORMANCE_BASE ? 1.0 : performances[i] + indicePrimeBase;
+            int anciennete = Math.max(0, annee - anneesEmbauche[i]);
+            cout += (primeBase * indice + primeAnciennete * anciennete) * tempsPartiels[i];
+        }
+        return cout;
+    }
+
+    public int getNbEmployes() {
+        return nbEmployes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Résultat du calcul de paie d'un employé.
+ */
+public class LignePaie {
+
+    private final String matricule;
+
+    private final double salaire;
+
+    private final double primeAnnuelle;
+
+    private final int nbRtt;
+
+    private final int nbConges;
+
+    public LignePaie(String matricule, double salaire, double primeAnnuelle, int nbRtt, int nbConges) {
+        this.matricule = matricule;
+        this.salaire = salaire;
+        this.primeAnnuelle = primeAnnuelle;
+        this.nbRtt = nbRtt;
+        this.nbConges = nbConges;
+    }
+
+    public String getMatricule() {
+        return matricule;
+    }
+
+    public double getSalaire() {
+        return salaire;
+    }
+
+    public double getPrimeAnnuelle() {
+        return primeAnnuelle;
+    }
+
+    public int getNbRtt() {
+        return nbRtt;
+    }
+
+    public int getNbConges() {
+        return nbConges;
+    }
+
+    @Override
+    public String toString() {
+        return matricule + ";" + salaire + ";" + primeAnnuelle + ";" + nbRtt + ";" + nbConges;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Masse salariale d'un type d'employé, calculée par la BDD (voir EmployeRepository#findMasseSalarialeParType).
+ */
+public interface MasseSalarialeType {
+
+    /**
+     * @return la première lettre du matricule
+     */
+    String getTypeEmploye();
+
+    /**
+     * @return la somme des salaires mensuels, null si aucun employé du type n'a de salaire
+     */
+    Double getMasseSalariale();
+
+    Long getNbEmployes();
+
+    /**
+     * @return le poste correspondant au type d'employé, null si aucun ne correspond
+     */
+    default Poste getPoste() {
+        return Matricule.posteDuType(getTypeEmploye());
+    }
+}
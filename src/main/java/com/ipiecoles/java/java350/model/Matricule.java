@@ -0,0 +1,279 @@
+package com.ipiecoles.java.java350.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Matricule d'un employé : une lettre majuscule (le type d'employé, première lettre du poste) suivie d'un numéro
+ * sur 5 chiffres, par exemple C00042.
+ *
+ * Le matricule est codé dans un seul int : le rang de la lettre dans l'alphabet dans les bits 17 à 21 et le numéro
+ * dans les 17 bits de poids faible. Le test du type d'employé est un test de bits, et l'ordre des codes est celui
+ * des matricules en texte. Les méthodes statiques travaillent directement sur ce code, sans allouer d'objet.
+ *
+ * En BDD le matricule reste stocké en texte, voir {@link MatriculeConverter}. Ce texte est gardé par l'objet une
+ * fois connu, pour que {@link #toString()} n'alloue pas une chaîne à chaque appel.
+ */
+public final class Matricule implements Comparable<Matricule>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int NUMERO_MAX = 99999;
+
+    //Code renvoyé par encoder pour un texte qui n'est pas un matricule
+    public static final int INVALIDE = -1;
+
+    private static final int LONGUEUR = 6;
+    private static final int NB_BITS_NUMERO = 17;
+    private static final int MASQUE_NUMERO = (1 << NB_BITS_NUMERO) - 1;
+
+    //Ordinal du poste, indexé par rang de la lettre (-1 si aucun poste ne commence par cette lettre)
+    private static final byte[] POSTES_PAR_LETTRE = new byte[26];
+
+    static {
+        Arrays.fill(POSTES_PAR_LETTRE, (byte) -1);
+        for (Poste poste : Poste.values()) {
+            POSTES_PAR_LETTRE[lettre(poste) - 'A'] = (byte) poste.ordinal();
+        }
+    }
+
+    private final int code;
+
+    //Matricule en texte, calculé au premier appel de toString s'il n'a pas été fourni
+    private transient String texte;
+
+    private Matricule(int code, String texte) {
+        this.code = code;
+        this.texte = texte;
+    }
+
+    /**
+     * @param matricule le matricule en texte
+     * @return le matricule
+     * @throws IllegalArgumentException si le texte n'est pas une lettre majuscule suivie de 5 chiffres
+     */
+    public static Matricule valueOf(CharSequence matricule) {
+        int code = encoder(matricule);
+        if(code == INVALIDE){
+            throw new IllegalArgumentException("Matricule invalide : " + matricule);
+        }
+        //Un texte valide est déjà sous la forme de toString
+        return new Matricule(code, matricule instanceof String ? (String) matricule : null);
+    }
+
+    /**
+     * @param code un code obtenu par {@link #encoder(CharSequence)} ou {@link #encoder(char, int)}
+     * @return le matricule de ce code
+     */
+    public static Matricule deCode(int code) {
+        if(code < 0 || (code >>> NB_BITS_NUMERO) >= 26 || (code & MASQUE_NUMERO) > NUMERO_MAX){
+            throw new IllegalArgumentException("Code de matricule invalide : " + code);
+        }
+        return new Matricule(code, null);
+    }
+
+    /**
+     * @param poste le poste de l'employé
+     * @param numero le numéro, de 0 à {@link #NUMERO_MAX}
+     * @return le matricule
+     */
+    public static Matricule de(Poste poste, int numero) {
+        return deCode(encoder(lettre(poste), numero));
+    }
+
+    /**
+     * @param matricule le matricule en texte
+     * @return son code, {@link #INVALIDE} si le texte n'est pas une lettre majuscule suivie de 5 chiffres
+     */
+    public static int encoder(CharSequence matricule) {
+        if(matricule == null || matricule.length() != LONGUEUR){
+            return INVALIDE;
+        }
+        int numero = 0;
+        for (int i = 1; i < LONGUEUR; i++) {
+            char chiffre = matricule.charAt(i);
+            if(chiffre < '0' || chiffre > '9'){
+                return INVALIDE;
+            }
+            numero = numero * 10 + chiffre - '0';
+        }
+        return encoder(matricule.charAt(0), numero);
+    }
+
+    /**
+     * @param lettre le type d'employé
+     * @param numero le numéro
+     * @return le code du matricule, {@link #INVALIDE} si la lettre n'est pas une majuscule ou si le numéro n'est pas
+     * entre 0 et {@link #NUMERO_MAX}
+     */
+    public static int encoder(char lettre, int numero) {
+        if(lettre < 'A' || lettre > 'Z' || numero < 0 || numero > NUMERO_MAX){
+            return INVALIDE;
+        }
+        return (lettre - 'A') << NB_BITS_NUMERO | numero;
+    }
+
+    public static char lettre(int code) {
+        return (char) ('A' + (code >>> NB_BITS_NUMERO));
+    }
+
+    /**
+     * @return la lettre des matricules du poste, première lettre de son nom
+     */
+    public static char lettre(Poste poste) {
+        return poste.name().charAt(0);
+    }
+
+    /**
+     * @return le type d'employé du poste, c'est à dire la lettre de ses matricules, en texte
+     */
+    public static String typeEmploye(Poste poste) {
+        return String.valueOf(lettre(poste));
+    }
+
+    public static int numero(int code) {
+        return code & MASQUE_NUMERO;
+    }
+
+    /**
+     * @return vrai si le matricule de ce code est du type d'employé donné
+     */
+    public static boolean estDuType(int code, char lettre) {
+        return (code & ~MASQUE_NUMERO) == (lettre - 'A') << NB_BITS_NUMERO;
+    }
+
+    /**
+     * @return l'ordinal du poste correspondant à la lettre du matricule, -1 si aucun ne correspond ou si le code
+     * est {@link #INVALIDE}
+     */
+    public static int ordinalPoste(int code) {
+        return code < 0 ? -1 : POSTES_PAR_LETTRE[code >>> NB_BITS_NUMERO];
+    }
+
+    /**
+     * @param lettre la première lettre d'un matricule, c'est à dire le type d'employé
+     * @return l'ordinal du poste correspondant, -1 si aucun ne correspond
+     */
+    public static int ordinalPosteDuType(char lettre) {
+        return lettre < 'A' || lettre > 'Z' ? -1 : POSTES_PAR_LETTRE[lettre - 'A'];
+    }
+
+    /**
+     * @param typeEmploye un type d'employé ou un matricule, dont seule la première lettre est lue
+     * @return le poste correspondant, null si aucun ne correspond
+     */
+    public static Poste posteDuType(CharSequence typeEmploye) {
+        int ordinal = typeEmploye == null || typeEmploye.length() == 0 ? -1 : ordinalPosteDuType(typeEmploye.charAt(0));
+        return ordinal < 0 ? null : Poste.values()[ordinal];
+    }
+
+    /**
+     * Premier des matricules commençant par le préfixe donné : les matricules ayant ce préfixe sont ceux dont le
+     * code est compris entre {@link #premierCodeAvecPrefixe} et {@link #dernierCodeAvecPrefixe}.
+     *
+     * @param prefixe une lettre majuscule suivie de 0 à 5 chiffres, par exemple C ou C001
+     * @return le plus petit code ayant ce préfixe, {@link #INVALIDE} si aucun matricule ne peut commencer ainsi
+     */
+    public static int premierCodeAvecPrefixe(CharSequence prefixe) {
+        return codeAvecPrefixe(prefixe, 0);
+    }
+
+    /**
+     * @param prefixe une lettre majuscule suivie de 0 à 5 chiffres, par exemple C ou C001
+     * @return le plus grand code ayant ce préfixe, {@link #INVALIDE} si aucun matricule ne peut commencer ainsi
+     */
+    public static int dernierCodeAvecPrefixe(CharSequence prefixe) {
+        return codeAvecPrefixe(prefixe, 9);
+    }
+
+    //Code du préfixe complété jusqu'à 5 chiffres avec le chiffre donné
+    private static int codeAvecPrefixe(CharSequence prefixe, int chiffreComplement) {
+        if(prefixe == null || prefixe.length() == 0 || prefixe.length() > LONGUEUR){
+            return INVALIDE;
+        }
+        int numero = 0;
+        for (int i = 1; i < LONGUEUR; i++) {
+            int chiffre = chiffreComplement;
+            if(i < prefixe.length()){
+                chiffre = prefixe.charAt(i) - '0';
+                if(chiffre < 0 || chiffre > 9){
+                    return INVALIDE;
+                }
+            }
+            numero = numero * 10 + chiffre;
+        }
+        return encoder(prefixe.charAt(0), numero);
+    }
+
+    /**
+     * Écrit le matricule de ce code en texte, complété par des 0 à gauche (T00042).
+     *
+     * @param code le code du matricule
+     * @param destination le tableau recevant les 6 caractères
+     * @param debut la position du premier caractère dans le tableau
+     */
+    public static void formater(int code, char[] destination, int debut) {
+        destination[debut] = lettre(code);
+        int numero = numero(code);
+        for (int i = debut + LONGUEUR - 1; i > debut; i--) {
+            destination[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+    }
+
+    public static String toString(int code) {
+        char[] texte = new char[LONGUEUR];
+        formater(code, texte, 0);
+        return new String(texte);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public char getLettre() {
+        return lettre(code);
+    }
+
+    public int getNumero() {
+        return numero(code);
+    }
+
+    public boolean estDuType(char lettre) {
+        return estDuType(code, lettre);
+    }
+
+    /**
+     * @return le poste correspondant à la lettre du matricule, null si aucun ne correspond
+     */
+    public Poste getPoste() {
+        int ordinal = ordinalPoste(code);
+        return ordinal < 0 ? null : Poste.values()[ordinal];
+    }
+
+    @Override
+    public int compareTo(Matricule autre) {
+        return Integer.compare(code, autre.code);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Matricule && code == ((Matricule) o).code;
+    }
+
+    @Override
+    public int hashCode() {
+        return code;
+    }
+
+    @Override
+    public String toString() {
+        //Sans synchronisation comme String.hashCode : au pire deux threads calculent chacun une chaîne égale
+        String resultat = texte;
+        if(resultat == null){
+            resultat = toString(code);
+            texte = resultat;
+        }
+        return resultat;
+    }
+}
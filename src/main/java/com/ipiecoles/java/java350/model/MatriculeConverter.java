@@ -0,0 +1,35 @@
+package com.ipiecoles.java.java350.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stockage d'un {@link Matricule} en BDD sous sa forme texte (C00042) : le schéma et les données ne changent pas, et
+ * l'ordre des matricules en texte est celui de leurs codes.
+ */
+@Converter
+public class MatriculeConverter implements AttributeConverter<Matricule, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Matricule matricule) {
+        return matricule == null ? null : matricule.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException si le matricule enregistré n'est pas conforme, avec le matricule en cause :
+     * les matricules d'une base existante sont à mettre en conformité par db/mysql/V6__employe_matricule_conforme.sql
+     */
+    @Override
+    public Matricule convertToEntityAttribute(String matricule) {
+        if(matricule == null){
+            return null;
+        }
+        try {
+            //valueOf garde le texte lu, renvoyé tel quel par Employe.getMatricule
+            return Matricule.valueOf(matricule);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Matricule non conforme en BDD : '" + matricule
+                    + "', à corriger avec db/mysql/V6__employe_matricule_conforme.sql", e);
+        }
+    }
+}
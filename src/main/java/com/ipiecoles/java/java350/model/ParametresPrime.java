@@ -0,0 +1,52 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Paramètres du calcul de la prime annuelle (voir {@link Employe#getPrimeAnnuelle()}), pour simuler l'effet d'une
+ * modification des règles de rémunération ({@link ReglesRemuneration}) avant de la mettre en production.
+ */
+public class ParametresPrime {
+
+    private final double primeBase;
+
+    private final double indicePrimeBase;
+
+    private final double indicePrimeManager;
+
+    private final double primeAnciennete;
+
+    /**
+     * @param primeBase la prime de base, voir {@link ReglesRemuneration#getPrimeBase()}
+     * @param indicePrimeBase l'indice ajouté à la performance, voir {@link ReglesRemuneration#getIndicePrimeBase()}
+     * @param indicePrimeManager l'indice de prime des managers, voir {@link ReglesRemuneration#getIndicePrimeManager()}
+     * @param primeAnciennete la prime par année d'ancienneté, voir {@link ReglesRemuneration#getPrimeAnciennete()}
+     */
+    public ParametresPrime(double primeBase, double indicePrimeBase, double indicePrimeManager, double primeAnciennete) {
+        this.primeBase = primeBase;
+        this.indicePrimeBase = indicePrimeBase;
+        this.indicePrimeManager = indicePrimeManager;
+        this.primeAnciennete = primeAnciennete;
+    }
+
+    /**
+     * @return les paramètres des règles de rémunération en vigueur
+     */
+    public static ParametresPrime actuels() {
+        return Entreprise.regles().getParametresPrime();
+    }
+
+    public double getPrimeBase() {
+        return primeBase;
+    }
+
+    public double getIndicePrimeBase() {
+        return indicePrimeBase;
+    }
+
+    public double getIndicePrimeManager() {
+        return indicePrimeManager;
+    }
+
+    public double getPrimeAnciennete() {
+        return primeAnciennete;
+    }
+}
@@ -0,0 +1,246 @@
+package com.ipiecoles.java.java350.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Version des règles de rémunération : salaire de base et coefficients par niveau d'étude, congés, forfait jours et
+ * paramètres de la prime annuelle.
+ *
+ * Une instance n'est jamais modifiée. Les règles en vigueur sont lues par {@link Entreprise#regles()} et remplacées
+ * en bloc par {@link Entreprise#appliquerRegles(ReglesRemuneration)} ; un traitement qui garde la référence lue au
+ * départ applique donc la même version du début à la fin.
+ */
+public final class ReglesRemuneration {
+
+    /**
+     * Règles appliquées tant qu'aucun fichier de règles n'a été chargé (coefficients dans l'ordre de
+     * {@link NiveauEtude}).
+     */
+    public static final ReglesRemuneration DEFAUT = new ReglesRemuneration("defaut", 1521.22,
+            new double[]{1.0, 1.1, 1.2, 1.2, 1.4, 1.6, 1.7}, 25, 218, 1000d, 0.3, 1.7, 100d);
+
+    private static final String PREFIXE_COEFF_SALAIRE_ETUDE = "coeffSalaireEtude.";
+
+    private final String version;
+
+    private final double salaireBase;
+
+    //Indexés par NiveauEtude.ordinal()
+    private final double[] coeffSalaireEtudes;
+
+    private final int nbCongesBase;
+
+    private final int nbJoursMaxForfait;
+
+    private final double primeBase;
+
+    private final double indicePrimeBase;
+
+    private final double indicePrimeManager;
+
+    private final double primeAnciennete;
+
+    private ReglesRemuneration(String version, double salaireBase, double[] coeffSalaireEtudes, int nbCongesBase,
+                               int nbJoursMaxForfait, double primeBase, double indicePrimeBase,
+                               double indicePrimeManager, double primeAnciennete) {
+        this.version = version;
+        this.salaireBase = salaireBase;
+        this.coeffSalaireEtudes = coeffSalaireEtudes;
+        this.nbCongesBase = nbCongesBase;
+        this.nbJoursMaxForfait = nbJoursMaxForfait;
+        this.primeBase = primeBase;
+        this.indicePrimeBase = indicePrimeBase;
+        this.indicePrimeManager = indicePrimeManager;
+        this.primeAnciennete = primeAnciennete;
+    }
+
+    /**
+     * Lit une version des règles depuis des propriétés, par exemple :
+     * <pre>
+     * version=2020-01
+     * salaireBase=1521.22
+     * coeffSalaireEtude.CAP=1.0
+     * (un coeffSalaireEtude.NIVEAU par niveau d'étude)
+     * nbCongesBase=25
+     * nbJoursMaxForfait=218
+     * primeBase=1000
+     * indicePrimeBase=0.3
+     * indicePrimeManager=1.7
+     * primeAnciennete=100
+     * </pre>
+     *
+     * @param proprietes les propriétés
+     * @return les règles
+     * @throws IllegalArgumentException si une propriété est absente, n'est pas un nombre, est négative (nulle pour
+     * le salaire de base et les coefficients) ou ne correspond à aucune règle
+     */
+    public static ReglesRemuneration lire(Properties proprietes) {
+        String version = proprietes.getProperty("version", "").trim();
+        if(version.isEmpty()){
+            throw new IllegalArgumentException("La version des règles de rémunération est obligatoire");
+        }
+        double[] coeffs = new double[NiveauEtude.values().length];
+        for (NiveauEtude niveauEtude : NiveauEtude.values()) {
+            coeffs[niveauEtude.ordinal()] = lireNombre(proprietes, PREFIXE_COEFF_SALAIRE_ETUDE + niveauEtude.name(), true);
+        }
+        ReglesRemuneration regles = new ReglesRemuneration(version,
+                lireNombre(proprietes, "salaireBase", true),
+                coeffs,
+                (int) lireEntier(proprietes, "nbCongesBase"),
+                (int) lireEntier(proprietes, "nbJoursMaxForfait"),
+                lireNombre(proprietes, "primeBase", false),
+                lireNombre(proprietes, "indicePrimeBase", false),
+                lireNombre(proprietes, "indicePrimeManager", false),
+                lireNombre(proprietes, "primeAnciennete", false));
+        //Une faute de frappe dans un nom de propriété ne doit pas passer inaperçue
+        for (String nom : proprietes.stringPropertyNames()) {
+            if(!regles.connait(nom)){
+                throw new IllegalArgumentException("Règle de rémunération inconnue : " + nom);
+            }
+        }
+        return regles;
+    }
+
+    private static double lireNombre(Properties proprietes, String nom, boolean strictementPositif) {
+        String valeur = proprietes.getProperty(nom);
+        if(valeur == null){
+            throw new IllegalArgumentException("Règle de rémunération manquante : " + nom);
+        }
+        double nombre;
+        try {
+            nombre = Double.parseDouble(valeur.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La règle de rémunération " + nom + " n'est pas un nombre : " + valeur);
+        }
+        if(Double.isNaN(nombre) || Double.isInfinite(nombre) || nombre < 0 || (strictementPositif && nombre == 0)){
+            throw new IllegalArgumentException("Valeur invalide pour la règle de rémunération " + nom + " : " + valeur);
+        }
+        return nombre;
+    }
+
+    private static long lireEntier(Properties proprietes, String nom) {
+        double nombre = lireNombre(proprietes, nom, false);
+        if(nombre != Math.rint(nombre) || nombre > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("La règle de rémunération " + nom + " doit être un nombre entier");
+        }
+        return (long) nombre;
+    }
+
+    private boolean connait(String nom) {
+        switch (nom) {
+            case "version":
+            case "salaireBase":
+            case "nbCongesBase":
+            case "nbJoursMaxForfait":
+            case "primeBase":
+            case "indicePrimeBase":
+            case "indicePrimeManager":
+            case "primeAnciennete":
+                return true;
+            default:
+                if(!nom.startsWith(PREFIXE_COEFF_SALAIRE_ETUDE)){
+                    return false;
+                }
+                for (NiveauEtude niveauEtude : NiveauEtude.values()) {
+                    if(nom.equals(PREFIXE_COEFF_SALAIRE_ETUDE + niveauEtude.name())){
+                        return true;
+                    }
+                }
+                return false;
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public double getSalaireBase() {
+        return salaireBase;
+    }
+
+    /**
+     * @param niveauEtude le niveau d'étude
+     * @return le coefficient appliqué au salaire de base pour ce niveau d'étude
+     */
+    public double coeffSalaireEtude(NiveauEtude niveauEtude) {
+        return coeffSalaireEtudes[niveauEtude.ordinal()];
+    }
+
+    /**
+     * @return une copie de la table des coefficients de salaire par niveau d'étude, pour affichage
+     */
+    public Map<NiveauEtude, Double> getCoeffSalaireEtudes() {
+        Map<NiveauEtude, Double> copie = new EnumMap<>(NiveauEtude.class);
+        for (NiveauEtude niveauEtude : NiveauEtude.values()) {
+            copie.put(niveauEtude, coeffSalaireEtudes[niveauEtude.ordinal()]);
+        }
+        return Collections.unmodifiableMap(copie);
+    }
+
+    /**
+     * @see Entreprise#salaireMinimumBande(NiveauEtude)
+     */
+    public Double salaireMinimumBande(NiveauEtude niveauEtude) {
+        double coeff = coeffSalaireEtudes[niveauEtude.ordinal()];
+        double coeffInferieur = Double.NEGATIVE_INFINITY;
+        for (double autreCoeff : coeffSalaireEtudes) {
+            if(autreCoeff < coeff && autreCoeff > coeffInferieur){
+                coeffInferieur = autreCoeff;
+            }
+        }
+        return coeffInferieur == Double.NEGATIVE_INFINITY ? null : salaireBase * (coeffInferieur + coeff) / 2;
+    }
+
+    /**
+     * @see Entreprise#salaireMaximumBande(NiveauEtude)
+     */
+    public Double salaireMaximumBande(NiveauEtude niveauEtude) {
+        double coeff = coeffSalaireEtudes[niveauEtude.ordinal()];
+        double coeffSuperieur = Double.POSITIVE_INFINITY;
+        for (double autreCoeff : coeffSalaireEtudes) {
+            if(autreCoeff > coeff && autreCoeff < coeffSuperieur){
+                coeffSuperieur = autreCoeff;
+            }
+        }
+        return coeffSuperieur == Double.POSITIVE_INFINITY ? null : salaireBase * (coeff + coeffSuperieur) / 2;
+    }
+
+    public int getNbCongesBase() {
+        return nbCongesBase;
+    }
+
+    public int getNbJoursMaxForfait() {
+        return nbJoursMaxForfait;
+    }
+
+    public double getPrimeBase() {
+        return primeBase;
+    }
+
+    public double getIndicePrimeBase() {
+        return indicePrimeBase;
+    }
+
+    public double getIndicePrimeManager() {
+        return indicePrimeManager;
+    }
+
+    public double getPrimeAnciennete() {
+        return primeAnciennete;
+    }
+
+    /**
+     * @return les paramètres de la prime annuelle de ces règles, point de départ des simulations
+     */
+    public ParametresPrime getParametresPrime() {
+        return new ParametresPrime(primeBase, indicePrimeBase, indicePrimeManager, primeAnciennete);
+    }
+
+    @Override
+    public String toString() {
+        return "ReglesRemuneration{version='" + version + "'}";
+    }
+}
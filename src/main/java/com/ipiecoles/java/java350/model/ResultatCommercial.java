@@ -0,0 +1,35 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Chiffre d'affaire traité par un commercial pendant l'année et objectif qui lui avait été fixé.
+ */
+public class ResultatCommercial {
+
+    private Long caTraite;
+
+    private Long objectifCa;
+
+    public ResultatCommercial() {
+    }
+
+    public ResultatCommercial(Long caTraite, Long objectifCa) {
+        this.caTraite = caTraite;
+        this.objectifCa = objectifCa;
+    }
+
+    public Long getCaTraite() {
+        return caTraite;
+    }
+
+    public void setCaTraite(Long caTraite) {
+        this.caTraite = caTraite;
+    }
+
+    public Long getObjectifCa() {
+        return objectifCa;
+    }
+
+    public void setObjectifCa(Long objectifCa) {
+        this.objectifCa = objectifCa;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ipiecoles.java.java350.model;
+
+/**
+ * Salaire moyen des employés embauchés une même année, calculé par la BDD
+ * (voir EmployeRepository#findSalaireMoyenParAnneeEmbauche).
+ */
+public interface SalaireMoyenAnnee {
+
+    Integer getAnnee();
+
+    /**
+     * @return la moyenne des salaires renseignés, null si aucun ne l'est
+     */
+    Double getSalaireMoyen();
+
+    Long getNbEmployes();
+}
@@ -0,0 +1,212 @@
+package com.ipiecoles.java.java350.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+
+/**
+ * Stock en lecture seule des données numériques des employés, hors du tas Java : chaque employé occupe un
+ * enregistrement de {@link #TAILLE_ENREGISTREMENT} octets dans un ByteBuffer direct, repéré par son numéro
+ * d'emplacement (0 à getNbEmployes() - 1). Les noms ne sont pas conservés.
+ *
+ * Format d'un enregistrement (ordre des octets de la machine) :
+ * <pre>
+ *  0  double salaire         (NaN si non renseigné)
+ *  8  double temps partiel   (NaN si non renseigné)
+ * 16  int    date d'embauche (jour depuis le 01/01/1970, {@link #VALEUR_ABSENTE} si non renseignée)
+ * 20  int    année d'embauche ({@link #VALEUR_ABSENTE} si non renseignée)
+ * 24  int    performance     ({@link #VALEUR_ABSENTE} si non renseignée)
+ * 28  byte   type d'employé  (ordinal du poste, {@link #TYPE_INCONNU} si le matricule ne correspond à aucun poste)
+ * 29  3 octets inutilisés
+ * </pre>
+ *
+ * Les méthodes de lecture et de calcul de paie n'allouent aucun objet. Le stock est rempli par un seul thread avec
+ * {@link #ajouter(Employe)} puis n'est plus modifié ; il peut alors être lu par plusieurs threads. La mémoire hors
+ * tas est libérée quand le stock n'est plus référencé.
+ */
+public class StockEmployes {
+
+    public static final int TAILLE_ENREGISTREMENT = 32;
+
+    public static final int VALEUR_ABSENTE = Integer.MIN_VALUE;
+
+    public static final byte TYPE_INCONNU = -1;
+
+    private static final int POSITION_SALAIRE = 0;
+    private static final int POSITION_TEMPS_PARTIEL = 8;
+    private static final int POSITION_JOUR_EMBAUCHE = 16;
+    private static final int POSITION_ANNEE_EMBAUCHE = 20;
+    private static final int POSITION_PERFORMANCE = 24;
+    private static final int POSITION_TYPE = 28;
+
+    private static final int NB_NUMEROS_MATRICULE = 100000;
+
+    private static final byte TYPE_MANAGER = (byte) Poste.MANAGER.ordinal();
+
+    private ByteBuffer enregistrements;
+
+    private int nbEmployes;
+
+    //Emplacement + 1 de l'employé (0 s'il n'y en a pas), indexé par ordinal du poste * 100000 + numéro du matricule
+    private final int[] emplacementsParMatricule = new int[Poste.values().length * NB_NUMEROS_MATRICULE];
+
+    /**
+     * @param capacite le nombre d'employés attendu, le stock est agrandi au besoin
+     */
+    public StockEmployes(int capacite) {
+        enregistrements = allouer(Math.max(capacite, 16));
+    }
+
+    /**
+     * Ajoute un employé au stock, à l'emplacement getNbEmployes().
+     *
+     * @param employe l'employé
+     */
+    public void ajouter(Employe employe) {
+        if(enregistrements.capacity() < (nbEmployes + 1) * TAILLE_ENREGISTREMENT){
+            ByteBuffer agrandi = allouer(nbEmployes + (nbEmployes >> 1));
+            enregistrements.position(0).limit(nbEmployes * TAILLE_ENREGISTREMENT);
+            agrandi.put(enregistrements);
+            enregistrements = agrandi;
+        }
+        int position = nbEmployes * TAILLE_ENREGISTREMENT;
+        enregistrements.putDouble(position + POSITION_SALAIRE, employe.getSalaire() == null ? Double.NaN : employe.getSalaire());
+        enregistrements.putDouble(position + POSITION_TEMPS_PARTIEL, employe.getTempsPartiel() == null ? Double.NaN : employe.getTempsPartiel());
+        LocalDate dateEmbauche = employe.getDateEmbauche();
+        enregistrements.putInt(position + POSITION_JOUR_EMBAUCHE, dateEmbauche == null ? VALEUR_ABSENTE : (int) dateEmbauche.toEpochDay());
+        enregistrements.putInt(position + POSITION_ANNEE_EMBAUCHE, dateEmbauche == null ? VALEUR_ABSENTE : dateEmbauche.getYear());
+        enregistrements.putInt(position + POSITION_PERFORMANCE, employe.getPerformance() == null ? VALEUR_ABSENTE : employe.getPerformance());
+        int codeMatricule = employe.getCodeMatricule();
+        enregistrements.put(position + POSITION_TYPE, (byte) Matricule.ordinalPoste(codeMatricule));
+        int index = indexMatricule(codeMatricule);
+        if(index >= 0){
+            emplacementsParMatricule[index] = nbEmployes + 1;
+        }
+        nbEmployes++;
+    }
+
+    public int getNbEmployes() {
+        return nbEmployes;
+    }
+
+    /**
+     * @param matricule le matricule
+     * @return l'emplacement de l'employé, -1 s'il n'est pas dans le stock
+     */
+    public int emplacement(String matricule) {
+        int index = indexMatricule(Matricule.encoder(matricule));
+        return index < 0 ? -1 : emplacementsParMatricule[index] - 1;
+    }
+
+    /**
+     * @return le salaire, NaN s'il n'est pas renseigné
+     */
+    public double getSalaire(int emplacement) {
+        return enregistrements.getDouble(position(emplacement) + POSITION_SALAIRE);
+    }
+
+    /**
+     * @return le temps partiel, NaN s'il n'est pas renseigné
+     */
+    public double getTempsPartiel(int emplacement) {
+        return enregistrements.getDouble(position(emplacement) + POSITION_TEMPS_PARTIEL);
+    }
+
+    /**
+     * @return la date d'embauche en nombre de jours depuis le 01/01/1970 (voir LocalDate.ofEpochDay),
+     * {@link #VALEUR_ABSENTE} si elle n'est pas renseignée
+     */
+    public int getJourEmbauche(int emplacement) {
+        return enregistrements.getInt(position(emplacement) + POSITION_JOUR_EMBAUCHE);
+    }
+
+    /**
+     * @return la performance, {@link #VALEUR_ABSENTE} si elle n'est pas renseignée
+     */
+    public int getPerformance(int emplacement) {
+        return enregistrements.getInt(position(emplacement) + POSITION_PERFORMANCE);
+    }
+
+    /**
+     * @return l'ordinal du poste, {@link #TYPE_INCONNU} si le matricule ne correspond à aucun poste
+     */
+    public byte getType(int emplacement) {
+        return enregistrements.get(position(emplacement) + POSITION_TYPE);
+    }
+
+    /**
+     * Même calcul que {@link Employe#nombreAnneeAnciennete(LocalDate)}.
+     */
+    public int nombreAnneeAnciennete(int emplacement, LocalDate dateReference) {
+        int anneeEmbauche = enregistrements.getInt(position(emplacement) + POSITION_ANNEE_EMBAUCHE);
+        //Une date d'embauche de l'année de référence ou postérieure ne donne pas d'ancienneté
+        return anneeEmbauche == VALEUR_ABSENTE ? 0 : Math.max(0, dateReference.getYear() - anneeEmbauche);
+    }
+
+    /**
+     * Même calcul que {@link Employe#nbConges(LocalDate)}.
+     */
+    public int nbConges(int emplacement, LocalDate dateReference) {
+        return nbConges(emplacement, dateReference, Entreprise.regles());
+    }
+
+    /**
+     * Même calcul que {@link Employe#nbConges(LocalDate, ReglesRemuneration)}.
+     */
+    public int nbConges(int emplacement, LocalDate dateReference, ReglesRemuneration regles) {
+        return CalculPaie.nbConges(regles, nombreAnneeAnciennete(emplacement, dateReference));
+    }
+
+    /**
+     * Même calcul que {@link Employe#nbRtt(LocalDate)}, le calendrier de l'année de référence étant passé par
+     * l'appelant pour n'être lu qu'une fois par traitement.
+     */
+    public int nbRtt(int emplacement, CalendrierAnnee calendrier, LocalDate dateReference) {
+        return nbRtt(emplacement, calendrier, dateReference, Entreprise.regles());
+    }
+
+    /**
+     * Même calcul que {@link Employe#nbRtt(LocalDate, ReglesRemuneration)}.
+     */
+    public int nbRtt(int emplacement, CalendrierAnnee calendrier, LocalDate dateReference, ReglesRemuneration regles) {
+        return CalculPaie.nbRtt(regles, calendrier, nbConges(emplacement, dateReference, regles), getTempsPartiel(emplacement));
+    }
+
+    /**
+     * Même calcul que {@link Employe#primeAnnuelle(LocalDate)}.
+     */
+    public double primeAnnuelle(int emplacement, LocalDate dateReference) {
+        return primeAnnuelle(emplacement, dateReference, Entreprise.regles());
+    }
+
+    /**
+     * Même calcul que {@link Employe#primeAnnuelle(LocalDate, ReglesRemuneration)}.
+     */
+    public double primeAnnuelle(int emplacement, LocalDate dateReference, ReglesRemuneration regles) {
+        int performance = getPerformance(emplacement);
+        return CalculPaie.primeAnnuelle(regles,
+                getType(emplacement) == TYPE_MANAGER,
+                performance == VALEUR_ABSENTE ? Entreprise.PERFORMANCE_BASE : performance,
+                nombreAnneeAnciennete(emplacement, dateReference),
+                getTempsPartiel(emplacement));
+    }
+
+    private int position(int emplacement) {
+        if(emplacement < 0 || emplacement >= nbEmployes){
+            throw new IndexOutOfBoundsException("Emplacement " + emplacement + " hors du stock de " + nbEmployes + " employés");
+        }
+        return emplacement * TAILLE_ENREGISTREMENT;
+    }
+
+    private static ByteBuffer allouer(int nbEnregistrements) {
+        return ByteBuffer.allocateDirect(nbEnregistrements * TAILLE_ENREGISTREMENT).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * @return l'index du matricule de ce code dans emplacementsParMatricule, -1 s'il ne correspond à aucun poste
+     */
+    private static int indexMatricule(int codeMatricule) {
+        int ordinalPoste = Matricule.ordinalPoste(codeMatricule);
+        return ordinalPoste < 0 ? -1 : ordinalPoste * NB_NUMEROS_MATRICULE + Matricule.numero(codeMatricule);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ipiecoles.java.java350.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Totaux de paie par type d'employé (managers, commerciaux, techniciens).
+ *
+ * Les montants sont cumulés en centimes dans des long : la fusion de deux totaux est exactement associative, le
+ * résultat ne dépend donc pas du découpage ni de l'ordre dans lequel les employés sont traités.
+ */
+public class TotauxPaie {
+
+    private final long[] nbEmployes = new long[Poste.values().length];
+
+    private final long[] salairesCentimes = new long[Poste.values().length];
+
+    private final long[] primesCentimes = new long[Poste.values().length];
+
+    private final long[] nbRtt = new long[Poste.values().length];
+
+    private final long[] nbConges = new long[Poste.values().length];
+
+    /**
+     * Ajoute la paie d'un employé aux totaux de son type. Les employés dont le matricule ne correspond à aucun poste
+     * sont ignorés.
+     *
+     * @param employe l'employé
+     * @param dateReference la date à laquelle sont calculées l'ancienneté et les RTT
+     * @param regles les règles de rémunération du traitement
+     */
+    public void ajouter(Employe employe, LocalDate dateReference, ReglesRemuneration regles) {
+        int index = Matricule.ordinalPoste(employe.getCodeMatricule());
+        if(index < 0){
+            return;
+        }
+        nbEmployes[index]++;
+        salairesCentimes[index] += employe.getSalaire() == null ? 0 : Math.round(employe.getSalaire() * 100);
+        primesCentimes[index] += Math.round(employe.primeAnnuelle(dateReference, regles) * 100);
+        nbRtt[index] += employe.nbRtt(dateReference, regles);
+        nbConges[index] += employe.nbConges(dateReference, regles);
+    }
+
+    /**
+     * Ajoute la paie d'un employé du stock hors tas aux totaux de son type, sans allouer d'objet. Le résultat est le
+     * même que celui de {@link #ajouter(Employe, LocalDate, ReglesRemuneration)} pour l'employé correspondant.
+     *
+     * @param stock le stock des employés
+     * @param emplacement l'emplacement de l'employé dans le stock
+     * @param dateReference la date à laquelle sont calculées l'ancienneté et les RTT
+     * @param calendrier le calendrier de l'année de la date de référence
+     * @param regles les règles de rémunération du traitement
+     */
+    public void ajouter(StockEmployes stock, int emplacement, LocalDate dateReference, CalendrierAnnee calendrier, ReglesRemuneration regles) {
+        int index = stock.getType(emplacement);
+        if(index < 0){
+            return;
+        }
+        double salaire = stock.getSalaire(emplacement);
+        nbEmployes[index]++;
+        salairesCentimes[index] += Double.isNaN(salaire) ? 0 : Math.round(salaire * 100);
+        primesCentimes[index] += Math.round(stock.primeAnnuelle(emplacement, dateReference, regles) * 100);
+        nbRtt[index] += stock.nbRtt(emplacement, calendrier, dateReference, regles);
+        nbConges[index] += stock.nbConges(emplacement, dateReference, regles);
+    }
+
+    /**
+     * Ajoute les totaux donnés à ces totaux.
+     *
+     * @param autres les totaux à ajouter
+     * @return ces totaux
+     */
+    public TotauxPaie fusionner(TotauxPaie autres) {
+        for (int i = 0; i < nbEmployes.length; i++) {
+            nbEmployes[i] += autres.nbEmployes[i];
+            salairesCentimes[i] += autres.salairesCentimes[i];
+            primesCentimes[i] += autres.primesCentimes[i];
+            nbRtt[i] += autres.nbRtt[i];
+            nbConges[i] += autres.nbConges[i];
+        }
+        return this;
+    }
+
+    public long getNbEmployes(Poste poste) {
+        return nbEmployes[poste.ordinal()];
+    }
+
+    public long getSalairesCentimes(Poste poste) {
+        return salairesCentimes[poste.ordinal()];
+    }
+
+    public long getPrimesCentimes(Poste poste) {
+        return primesCentimes[poste.ordinal()];
+    }
+
+    public long getNbRtt(Poste poste) {
+        return nbRtt[poste.ordinal()];
+    }
+
+    public long getNbConges(Poste poste) {
+        return nbConges[poste.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TotauxPaie)) return false;
+        TotauxPaie that = (TotauxPaie) o;
+        return Arrays.equals(nbEmployes, that.nbEmployes) &&
+                Arrays.equals(salairesCentimes, that.salairesCentimes) &&
+                Arrays.equals(primesCentimes, that.primesCentimes) &&
+                Arrays.equals(nbRtt, that.nbRtt) &&
+                Arrays.equals(nbConges, that.nbConges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(primesCentimes);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ipiecoles.java.java350.repository;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabrique du cache de second niveau Hibernate (JCache) qui accepte une configuration
+ * du type classpath:ehcache.xml pour hibernate.javax.cache.uri, ce que Hibernate 5.3 ne gère pas.
+ *
+ * Chaque fabrique a son propre CacheManager : JCache renvoie le même CacheManager pour la même URI, et Hibernate
+ * le ferme à l'arrêt de la SessionFactory. Deux contextes Spring dans la même JVM (les contextes de test mis en
+ * cache par exemple) partageraient sinon leurs régions, et l'arrêt de l'un fermerait le cache de l'autre.
+ */
+public class ClasspathJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final String PREFIXE_CLASSPATH = "classpath:";
+
+    private static final AtomicInteger NB_FABRIQUES = new AtomicInteger();
+
+    private final String nom = "java350-" + NB_FABRIQUES.incrementAndGet();
+
+    @Override
+    protected URI getUri(Map properties) {
+        URI uri = getUriConfiguration(properties);
+        if(uri == null){
+            return null;
+        }
+        //Le fragment distingue le CacheManager de cette fabrique sans changer le fichier de configuration lu
+        try {
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), nom);
+        } catch (URISyntaxException e) {
+            throw new CacheException("Configuration du cache invalide : " + uri, e);
+        }
+    }
+
+    private URI getUriConfiguration(Map properties) {
+        Object uri = properties.get(ConfigSettings.CONFIG_URI);
+        if(uri instanceof String && ((String) uri).startsWith(PREFIXE_CLASSPATH)){
+            String ressource = ((String) uri).substring(PREFIXE_CLASSPATH.length());
+            URL url = Thread.currentThread().getContextClassLoader().getResource(ressource);
+            if(url == null){
+                throw new CacheException("Configuration du cache introuvable : " + uri);
+            }
+            try {
+                return url.toURI();
+            } catch (URISyntaxException e) {
+                throw new CacheException("Configuration du cache invalide : " + uri, e);
+            }
+        }
+        return super.getUri(properties);
+    }
+}
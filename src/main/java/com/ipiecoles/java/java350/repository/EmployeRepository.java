@@ -1,17 +1,70 @@
 package com.ipiecoles.java.java350.repository;
 
+import com.ipiecoles.java.java350.model.EffectifPerformance;
 import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.MasseSalarialeType;
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.SalaireMoyenAnnee;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+
 @Repository
-public interface EmployeRepository extends JpaRepository<Employe, Long> {
+public interface EmployeRepository extends JpaRepository<Employe, Long>, EmployeRepositoryCustom {
     @Query("select max(substring(matricule,2)) from Employe")
     String findLastMatricule();
 
-    Employe findByMatricule(String matricule);
+    /**
+     * Les numéros ayant tous 5 chiffres, le plus grand matricule du type est aussi celui de plus grand numéro :
+     * lecture du dernier élément de l'index (typeEmploye, matricule).
+     */
+    @Query("select substring(max(matricule),2) from Employe where typeEmploye = ?1")
+    String findLastMatriculeWhereMatriculeStartsWith(String premiereLettreMatricule);
+
+    List<Employe> findByTypeEmploye(String typeEmploye);
+
+    /**
+     * @param matricules les matricules cherchés, au plus quelques milliers (liste IN de la requête)
+     * @return les employés existants parmi ces matricules
+     */
+    List<Employe> findByMatriculeIn(Collection<Matricule> matricules);
+
+    /**
+     * Lecture de tous les employés en flux, par paquets de 500 lignes. À consommer dans une transaction et à fermer.
+     */
+    @QueryHints({@QueryHint(name = FETCH_SIZE, value = "500"), @QueryHint(name = READ_ONLY, value = "true")})
+    @Query("select e from Employe e")
+    Stream<Employe> streamAll();
 
-    @Query("select avg(performance) from Employe where SUBSTRING(matricule,0,1) = ?1 ")
+    @Query("select avg(performance) from Employe where typeEmploye = ?1")
     Double avgPerformanceWhereMatriculeStartsWith(String premiereLettreMatricule);
+
+    @Query("select typeEmploye, sum(performance), count(performance) from Employe where typeEmploye is not null group by typeEmploye")
+    List<Object[]> sumAndCountPerformanceGroupByPremiereLettreMatricule();
+
+    /*
+     * Agrégats des tableaux de bord, calculés par la BDD sans charger d'entité. Chaque requête ne lit qu'un index
+     * couvrant (voir @Table de Employe) : (typeEmploye, salaire), (dateEmbauche, salaire) et (performance).
+     */
+
+    @Query("select e.typeEmploye as typeEmploye, sum(e.salaire) as masseSalariale, count(e) as nbEmployes"
+            + " from Employe e where e.typeEmploye is not null group by e.typeEmploye order by e.typeEmploye")
+    List<MasseSalarialeType> findMasseSalarialeParType();
+
+    @Query("select year(e.dateEmbauche) as annee, avg(e.salaire) as salaireMoyen, count(e) as nbEmployes"
+            + " from Employe e where e.dateEmbauche is not null group by year(e.dateEmbauche) order by year(e.dateEmbauche)")
+    List<SalaireMoyenAnnee> findSalaireMoyenParAnneeEmbauche();
+
+    @Query("select e.performance as performance, count(e) as nbEmployes"
+            + " from Employe e group by e.performance order by e.performance")
+    List<EffectifPerformance> findEffectifParPerformance();
 }
@@ -0,0 +1,45 @@
+package com.ipiecoles.java.java350.repository;
+
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.CritereRecherche;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.EmployeResume;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+
+import java.util.List;
+
+public interface EmployeRepositoryCustom {
+
+    /**
+     * Recherche d'un employé par son matricule, via le cache de second niveau des identifiants naturels.
+     *
+     * @param matricule le matricule
+     * @return l'employé, ou null s'il n'existe pas
+     */
+    Employe findByMatricule(String matricule);
+
+    /**
+     * Augmentation des salaires en une seule requête UPDATE, avec l'arrondi de {@link Employe#augmenterSalaire(double)}
+     * (à l'euro, au plus proche) calculé par la BDD. La version des employés modifiés est incrémentée. À appeler
+     * dans une transaction : le contexte de persistance est vidé et les employés sont retirés du cache.
+     *
+     * @param pourcentage le pourcentage d'augmentation (0.03 pour 3%)
+     * @param critere les employés concernés
+     * @param regles les règles de rémunération donnant la bande de salaire du critère
+     * @return le nombre d'employés augmentés
+     */
+    int augmenterSalaires(double pourcentage, CritereAugmentation critere, ReglesRemuneration regles);
+
+    /**
+     * Page de la liste des employés triée par matricule, paginée par clé : la page suivante est lue à partir du
+     * dernier matricule de la page précédente en parcourant l'index unique du matricule, sans OFFSET. Une page
+     * lointaine coûte donc autant que la première. Seules les colonnes de {@link EmployeResume} sont lues.
+     *
+     * @param critere les filtres de la liste
+     * @param apresMatricule le dernier matricule de la page précédente, null pour la première page
+     * @throws IllegalArgumentException si apresMatricule n'est pas un matricule valide
+     * @param taille le nombre maximum d'employés de la page
+     * @return les employés suivant apresMatricule, au plus taille, vide après la dernière page
+     */
+    List<EmployeResume> findPageApresMatricule(CritereRecherche critere, String apresMatricule, int taille);
+}
@@ -0,0 +1,135 @@
+package com.ipiecoles.java.java350.repository;
+
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.CritereRecherche;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.EmployeResume;
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.Collections;
+import java.util.List;
+
+public class EmployeRepositoryImpl implements EmployeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Employe findByMatricule(String matricule) {
+        int code = Matricule.encoder(matricule);
+        if(code == Matricule.INVALIDE){
+            return null;
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Employe.class).load(Matricule.deCode(code));
+    }
+
+    @Override
+    public int augmenterSalaires(double pourcentage, CritereAugmentation critere, ReglesRemuneration regles) {
+        //Même calcul que salaire * (1 + pourcentage) en Java, floor(x + 0.5) étant l'arrondi de Math.round
+        StringBuilder jpql = new StringBuilder("update versioned Employe e set e.salaire = floor(e.salaire * :facteur + 0.5)"
+                + " where e.salaire is not null");
+        Double salaireMinimum = null;
+        Double salaireMaximum = null;
+        if(critere.getPoste() != null){
+            jpql.append(" and e.typeEmploye = :typeEmploye");
+        }
+        if(critere.getNiveauEtude() != null){
+            salaireMinimum = regles.salaireMinimumBande(critere.getNiveauEtude());
+            salaireMaximum = regles.salaireMaximumBande(critere.getNiveauEtude());
+            if(salaireMinimum != null){
+                jpql.append(" and e.salaire >= :salaireMinimum * coalesce(e.tempsPartiel, 1.0)");
+            }
+            if(salaireMaximum != null){
+                jpql.append(" and e.salaire < :salaireMaximum * coalesce(e.tempsPartiel, 1.0)");
+            }
+        }
+        if(critere.getPerformanceMinimum() != null){
+            jpql.append(" and e.performance >= :performanceMinimum");
+        }
+
+        //Les modifications en attente doivent être en BDD avant la mise à jour en masse
+        entityManager.flush();
+        Query query = entityManager.createQuery(jpql.toString()).setParameter("facteur", 1 + pourcentage);
+        if(critere.getPoste() != null){
+            query.setParameter("typeEmploye", critere.getTypeEmploye());
+        }
+        if(salaireMinimum != null){
+            query.setParameter("salaireMinimum", salaireMinimum);
+        }
+        if(salaireMaximum != null){
+            query.setParameter("salaireMaximum", salaireMaximum);
+        }
+        if(critere.getPerformanceMinimum() != null){
+            query.setParameter("performanceMinimum", critere.getPerformanceMinimum());
+        }
+        int nbEmployes = query.executeUpdate();
+
+        //Les employés chargés avant la mise à jour ont un salaire et une version périmés
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evict(Employe.class);
+        return nbEmployes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeResume> findPageApresMatricule(CritereRecherche critere, String apresMatricule, int taille) {
+        //Les matricules ayant un préfixe forment un intervalle de l'index : LIKE n'est pas applicable au type Matricule
+        Matricule premierAvecPrefixe = null;
+        Matricule dernierAvecPrefixe = null;
+        if(critere.getPrefixeMatricule() != null && !critere.getPrefixeMatricule().isEmpty()){
+            int premier = Matricule.premierCodeAvecPrefixe(critere.getPrefixeMatricule());
+            if(premier == Matricule.INVALIDE){
+                return Collections.emptyList();
+            }
+            premierAvecPrefixe = Matricule.deCode(premier);
+            dernierAvecPrefixe = Matricule.deCode(Matricule.dernierCodeAvecPrefixe(critere.getPrefixeMatricule()));
+        }
+        StringBuilder jpql = new StringBuilder("select new com.ipiecoles.java.java350.model.EmployeResume("
+                + "e.matricule, e.nom, e.prenom, e.dateEmbauche, e.salaire, e.performance, e.tempsPartiel)"
+                + " from Employe e where e.matricule is not null");
+        if(apresMatricule != null){
+            jpql.append(" and e.matricule > :apresMatricule");
+        }
+        if(premierAvecPrefixe != null){
+            jpql.append(" and e.matricule between :premierAvecPrefixe and :dernierAvecPrefixe");
+        }
+        if(critere.getDateEmbaucheMin() != null){
+            jpql.append(" and e.dateEmbauche >= :dateEmbaucheMin");
+        }
+        if(critere.getDateEmbaucheMax() != null){
+            jpql.append(" and e.dateEmbauche <= :dateEmbaucheMax");
+        }
+        if(critere.getPerformanceMinimum() != null){
+            jpql.append(" and e.performance >= :performanceMinimum");
+        }
+        jpql.append(" order by e.matricule");
+
+        TypedQuery<EmployeResume> query = entityManager.createQuery(jpql.toString(), EmployeResume.class)
+                .setMaxResults(taille);
+        if(apresMatricule != null){
+            query.setParameter("apresMatricule", Matricule.valueOf(apresMatricule));
+        }
+        if(premierAvecPrefixe != null){
+            query.setParameter("premierAvecPrefixe", premierAvecPrefixe);
+            query.setParameter("dernierAvecPrefixe", dernierAvecPrefixe);
+        }
+        if(critere.getDateEmbaucheMin() != null){
+            query.setParameter("dateEmbaucheMin", critere.getDateEmbaucheMin());
+        }
+        if(critere.getDateEmbaucheMax() != null){
+            query.setParameter("dateEmbaucheMax", critere.getDateEmbaucheMax());
+        }
+        if(critere.getPerformanceMinimum() != null){
+            query.setParameter("performanceMinimum", critere.getPerformanceMinimum());
+        }
+        return query.getResultList();
+    }
+}
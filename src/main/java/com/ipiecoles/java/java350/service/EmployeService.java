@@ -1,18 +1,41 @@
 package com.ipiecoles.java.java350.service;
 
 import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.journal.Evenement;
+import com.ipiecoles.java.java350.journal.JournalEvenements;
+import com.ipiecoles.java.java350.metrics.EmployeMetrics;
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.CritereRecherche;
+import com.ipiecoles.java.java350.model.DemandeEmbauche;
 import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.EmployeResume;
 import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.Matricule;
 import com.ipiecoles.java.java350.model.NiveauEtude;
 import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import com.ipiecoles.java.java350.model.ResultatCommercial;
 import com.ipiecoles.java.java350.repository.EmployeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-
-import javax.persistence.EntityExistsException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class EmployeService {
@@ -20,6 +43,39 @@ public class EmployeService {
     @Autowired
     private EmployeRepository employeRepository;
 
+    @Autowired
+    private MatriculeService matriculeService;
+
+    @Autowired
+    private PerformanceMoyenneService performanceMoyenneService;
+
+    @Autowired
+    private EmployeMetrics employeMetrics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JournalEvenements journalEvenements;
+
+    //Doit correspondre à spring.jpa.properties.hibernate.jdbc.batch_size
+    public static final int TAILLE_LOT = 50;
+
+    //Nombre maximum d'essais d'une revue de performance en conflit avec une revue concurrente
+    public static final int NB_ESSAIS_REVUE_MAX = 5;
+
+    //Attente avant le premier nouvel essai, doublée à chaque essai suivant
+    public static final long ATTENTE_REVUE_MS = 10;
+
+    //Nombre d'essais d'une embauche dont le matricule existe déjà en BDD : un seul nouvel essai après recalage
+    public static final int NB_ESSAIS_EMBAUCHE_MAX = 2;
+
+    //Nombre maximum d'employés d'une page de la liste des employés
+    public static final int TAILLE_PAGE_MAX = 1000;
+
     private Logger logger = LoggerFactory.getLogger(this.getClass());
     private Employe employe;
 
@@ -34,53 +90,224 @@ public class EmployeService {
      * @param tempsPartiel Le pourcentage d'activité en cas de temps partiel
      *
      * @throws EmployeException Si on arrive au bout des matricules possibles
-     * @throws EntityExistsException Si le matricule correspond à un employé existant
      */
 
   
-    //Remove the declaration of thrown exception 'javax.persistence.EntityExistsException' which is a runtime exception
     public void embaucheEmploye(String nom, String prenom, Poste poste, NiveauEtude niveauEtude, Double tempsPartiel) throws EmployeException{
+        mesurer(() -> {
+            embauche(nom, prenom, poste, niveauEtude, tempsPartiel);
+            return null;
+        }, (erreur, dureeNanos) -> employeMetrics.enregistrerEmbauche(poste, niveauEtude, erreur, dureeNanos));
+    }
+
+    private void embauche(String nom, String prenom, Poste poste, NiveauEtude niveauEtude, Double tempsPartiel) throws EmployeException{
         logger.debug("Coucou");
         logger.info("Embauche de l'employé {} {} diplômé de {} en tant que {} avec un taux d'activité de {} ", prenom, nom, niveauEtude, poste, tempsPartiel);
 
-        //Récupération du type d'employé à partir du poste
-        String typeEmploye = poste.name().substring(0,1);
+        //Calcul du salaire
+        Double salaire = calculSalaire(Entreprise.regles(), niveauEtude, tempsPartiel);
+
+        //Attribution du matricule, sans requête en BDD, puis création et sauvegarde en BDD de l'employé.
+        for (int essai = 1; ; essai++) {
+            Employe employe = new Employe(nom, prenom, matriculeService.prochainMatricule(poste), LocalDate.now(), salaire, Entreprise.PERFORMANCE_BASE, tempsPartiel);
+            try {
+                employeRepository.save(employe);
+                journalEvenements.enregistrer(Evenement.embauche(employe));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                //Dans une transaction déjà ouverte, l'échec l'a rendue inutilisable : c'est à l'appelant de recommencer
+                if(essai == NB_ESSAIS_EMBAUCHE_MAX || TransactionSynchronizationManager.isActualTransactionActive()){
+                    throw e;
+                }
+                logger.warn("Matricule {} déjà présent en BDD, recalage des matricules {} et nouvel essai", employe.getMatricule(), poste);
+                matriculeService.resynchroniser(poste);
+            }
+        }
+    }
+
+
+    /**
+     * Méthode enregistrant en une seule fois toute une promotion de nouveaux employés.
+     *
+     * Les matricules sont réservés par blocs pour chaque poste et les salaires calculés en mémoire, puis les employés
+     * sont insérés par lots de {@link #TAILLE_LOT} (batch JDBC). Le contexte de persistance est vidé après chaque lot
+     * pour que les entités ne s'y accumulent pas.
+     *
+     * La mémoire n'est pas constante pour autant : les évènements d'embauche ne sont écrits dans le journal qu'à la
+     * validation de la transaction, pour qu'une promotion annulée n'y laisse aucune trace, et restent en mémoire
+     * jusque-là avec les matricules renvoyés. Cela représente environ 250 octets par employé, soit 250 Mo pour un
+     * million d'employés. Au-delà de quelques centaines de milliers d'employés, la promotion doit être découpée en
+     * plusieurs appels.
+     *
+     * La promotion est enregistrée dans sa propre transaction. Si un des matricules existe déjà en BDD, attribué par
+     * une autre instance de l'application ou inséré sans passer par elle (voir {@link MatriculeService}), la
+     * transaction est annulée, les matricules des postes de la promotion sont recalés sur la BDD et la promotion
+     * enregistrée une seconde fois. Appelée dans une transaction déjà ouverte, la méthode y participe et l'erreur est
+     * propagée sans nouvel essai.
+     *
+     * @param demandes Les demandes d'embauche
+     * @return les matricules attribués, dans l'ordre des demandes
+     *
+     * @throws EmployeException Si une demande est incomplète ou si on arrive au bout des matricules possibles
+     */
+    public List<String> embaucheEmployes(List<DemandeEmbauche> demandes) throws EmployeException {
+        logger.info("Embauche groupée de {} employés", demandes.size());
+
+        //Vérification des demandes et décompte par poste
+        int[] nbEmbauchesParPoste = new int[Poste.values().length];
+        for (DemandeEmbauche demande : demandes) {
+            if(demande.getPoste() == null || demande.getNiveauEtude() == null){
+                throw new EmployeException("Le poste et le niveau d'étude de l'employé sont obligatoires !");
+            }
+            nbEmbauchesParPoste[demande.getPoste().ordinal()]++;
+        }
 
-        //Récupération du dernier matricule...
-        String lastMatricule = employeRepository.findLastMatricule();
-        if(lastMatricule == null){
-            lastMatricule = Entreprise.MATRICULE_INITIAL;
+        if(TransactionSynchronizationManager.isActualTransactionActive()){
+            return enregistrerPromotion(demandes, nbEmbauchesParPoste);
         }
-        //... et incrémentation
-        Integer numeroMatricule = Integer.parseInt(lastMatricule) + 1;
-        if(numeroMatricule >= 100000){
-            logger.error("Limite des 100000 matricules atteinte !");
-            throw new EmployeException("Limite des 100000 matricules atteinte !");
+        for (int essai = 1; ; essai++) {
+            TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            try {
+                List<String> matricules = enregistrerPromotion(demandes, nbEmbauchesParPoste);
+                transactionManager.commit(transaction);
+                return matricules;
+            } catch (DataIntegrityViolationException e) {
+                annuler(transaction);
+                if(essai == NB_ESSAIS_EMBAUCHE_MAX){
+                    throw e;
+                }
+                logger.warn("Matricules de la promotion déjà présents en BDD, recalage des matricules et nouvel essai");
+                for (Poste poste : Poste.values()) {
+                    if(nbEmbauchesParPoste[poste.ordinal()] > 0){
+                        matriculeService.resynchroniser(poste);
+                    }
+                }
+            } catch (Throwable e) {
+                annuler(transaction);
+                throw e;
+            }
         }
-        //On complète le numéro avec des 0 à gauche
-        String matricule = "00000" + numeroMatricule;
-        matricule = typeEmploye + matricule.substring(matricule.length() - 5);
+    }
 
-        //On vérifie l'existence d'un employé avec ce matricule
-        if(employeRepository.findByMatricule(matricule) != null){
-            logger.error("L'employé de matricule {} existe déjà en BDD",matricule);
-            throw new EntityExistsException("L'employé de matricule " + matricule + " existe déjà en BDD");
+    private List<String> enregistrerPromotion(List<DemandeEmbauche> demandes, int[] nbEmbauchesParPoste) throws EmployeException {
+        //Réservation d'un bloc de matricules par poste
+        int[] prochainsNumeros = new int[Poste.values().length];
+        for (Poste poste : Poste.values()) {
+            if(nbEmbauchesParPoste[poste.ordinal()] > 0){
+                prochainsNumeros[poste.ordinal()] = matriculeService.reserverNumeros(poste, nbEmbauchesParPoste[poste.ordinal()]);
+            }
         }
 
-        //Calcul du salaire
-        Double salaire = Entreprise.getCoeffSalaireEtudes().get(niveauEtude) * Entreprise.SALAIRE_BASE;
+        //Création et sauvegarde par lots, toute la promotion avec la même version des règles de rémunération
+        LocalDate dateEmbauche = LocalDate.now();
+        ReglesRemuneration regles = Entreprise.regles();
+        List<String> matricules = new ArrayList<>(demandes.size());
+        List<Employe> lot = new ArrayList<>(TAILLE_LOT);
+        for (DemandeEmbauche demande : demandes) {
+            String matricule = MatriculeService.formaterMatricule(demande.getPoste(), prochainsNumeros[demande.getPoste().ordinal()]++);
+            Employe employe = new Employe(demande.getNom(), demande.getPrenom(), matricule, dateEmbauche,
+                    calculSalaire(regles, demande.getNiveauEtude(), demande.getTempsPartiel()), Entreprise.PERFORMANCE_BASE, demande.getTempsPartiel());
+            lot.add(employe);
+            journalEvenements.enregistrer(Evenement.embauche(employe));
+            matricules.add(matricule);
+            if(lot.size() == TAILLE_LOT){
+                sauvegarderLot(lot);
+            }
+        }
+        sauvegarderLot(lot);
+
+        return matricules;
+    }
+
+    private void sauvegarderLot(List<Employe> lot) {
+        if(lot.isEmpty()){
+            return;
+        }
+        employeRepository.saveAll(lot);
+        employeRepository.flush();
+        entityManager.clear();
+        lot.clear();
+    }
+
+    /**
+     * Calcul du salaire d'embauche : salaire de base multiplié par le coefficient du niveau d'étude, au pro rata du
+     * temps partiel et arrondi au centime.
+     */
+    private Double calculSalaire(ReglesRemuneration regles, NiveauEtude niveauEtude, Double tempsPartiel) {
+        double salaire = regles.coeffSalaireEtude(niveauEtude) * regles.getSalaireBase();
         if(tempsPartiel != null){
             salaire = salaire * tempsPartiel;
         }
-        salaire = Math.round(salaire*100d)/100d;
-
-        //Création et sauvegarde en BDD de l'employé.
-        Employe employe = new Employe(nom, prenom, matricule, LocalDate.now(), salaire, Entreprise.PERFORMANCE_BASE, tempsPartiel);
+        return Math.round(salaire*100d)/100d;
+    }
 
+    /**
+     * Augmentation du salaire d'un employé selon {@link Employe#augmenterSalaire(double)}, enregistrée en BDD et dans
+     * le journal des évènements.
+     *
+     * @param matricule le matricule de l'employé
+     * @param pourcentage le pourcentage d'augmentation (0.05 pour 5%)
+     * @return le nouveau salaire
+     *
+     * @throws EmployeException Si le matricule n'existe pas, si son salaire est null ou si le pourcentage est nul
+     */
+    @Transactional(rollbackFor = EmployeException.class)
+    public Double augmenterSalaire(String matricule, double pourcentage) throws EmployeException {
+        Employe employe = employeRepository.findByMatricule(matricule);
+        if(employe == null){
+            throw new EmployeException("Le matricule " + matricule + " n'existe pas !");
+        }
+        employe.augmenterSalaire(pourcentage);
         employeRepository.save(employe);
+        journalEvenements.enregistrer(Evenement.augmentationSalaire(employe));
+        return employe.getSalaire();
+    }
 
+    /**
+     * Augmentation générale des salaires, exécutée par la BDD en une seule requête quel que soit le nombre
+     * d'employés concernés, avec le même arrondi que {@link Employe#augmenterSalaire(double)}. Les employés en cache
+     * sont invalidés et l'augmentation est enregistrée dans le journal des évènements.
+     *
+     * @param pourcentage le pourcentage d'augmentation (0.03 pour 3%)
+     * @param critere les employés concernés, {@link CritereAugmentation#tous()} pour toute l'entreprise
+     * @return le nombre d'employés augmentés
+     *
+     * @throws EmployeException Si le pourcentage est nul
+     */
+    @Transactional(rollbackFor = EmployeException.class)
+    public int augmenterSalaires(double pourcentage, CritereAugmentation critere) throws EmployeException {
+        if (pourcentage == 0){
+            throw new EmployeException("Le pourcentage ne peux être égale à 0 !!");
+        }
+        //Une seule version des règles pour toute l'augmentation, même si elles sont rechargées pendant la requête
+        ReglesRemuneration regles = Entreprise.regles();
+        int nbEmployes = employeRepository.augmenterSalaires(pourcentage, critere, regles);
+        journalEvenements.enregistrer(Evenement.augmentationGenerale(pourcentage, critere, regles));
+        logger.info("Augmentation de {} des salaires de {} employés", pourcentage, nbEmployes);
+        return nbEmployes;
     }
 
+    /**
+     * Liste des employés triée par matricule, page par page. Pour lire la page suivante, rappeler la méthode avec
+     * le matricule du dernier employé de la page : le coût d'une page ne dépend pas de sa position dans la liste.
+     *
+     * @param critere les filtres de la liste, {@link CritereRecherche#tous()} pour tous les employés
+     * @param apresMatricule le dernier matricule de la page précédente, null pour la première page
+     * @param taille le nombre maximum d'employés de la page
+     * @return les employés de la page, vide après la dernière page
+     *
+     * @throws EmployeException Si la taille de la page n'est pas comprise entre 1 et {@link #TAILLE_PAGE_MAX} ou si
+     * apresMatricule n'est pas un matricule valide
+     */
+    public List<EmployeResume> listerEmployes(CritereRecherche critere, String apresMatricule, int taille) throws EmployeException {
+        if(taille < 1 || taille > TAILLE_PAGE_MAX){
+            throw new EmployeException("La taille de la page doit être comprise entre 1 et " + TAILLE_PAGE_MAX + " !");
+        }
+        if(apresMatricule != null && Matricule.encoder(apresMatricule) == Matricule.INVALIDE){
+            throw new EmployeException("Le matricule " + apresMatricule + " n'est pas valide !");
+        }
+        return employeRepository.findPageApresMatricule(critere, apresMatricule, taille);
+    }
 
     /**
      * Méthode calculant la performance d'un commercial en fonction de ses objectifs et du chiffre d'affaire traité dans l'année.
@@ -105,7 +332,182 @@ public class EmployeService {
 
     //La méthode doit rester en void
     public void calculPerformanceCommercial(String matricule, Long caTraite, Long objectifCa) throws EmployeException {
+        mesurer(() -> {
+            calculPerformance(matricule, caTraite, objectifCa);
+            return null;
+        }, employeMetrics::enregistrerCalculPerformanceCommercial);
+    }
+
+    private void calculPerformance(String matricule, Long caTraite, Long objectifCa) throws EmployeException {
+
+        verifierResultatCommercial(matricule, caTraite, objectifCa);
 
+        executerRevue(() -> revuePerformance(matricule, caTraite, objectifCa));
+    }
+
+    private void revuePerformance(String matricule, Long caTraite, Long objectifCa) throws EmployeException {
+        //Recherche de l'employé dans la base si egale à null lever d'une exception
+        Employe employe = employeRepository.findByMatricule(matricule);
+        if(employe == null){
+            throw new EmployeException("Le matricule " + matricule + " n'existe pas !");
+        }
+
+        Integer performance = calculPerformanceSelonObjectif(employe.getPerformance(), caTraite, objectifCa);
+
+        //Appel a la methode calculPerformabceMoyenne
+        performance = calculPerformanceSuperieur(performance);
+
+        //Affectation et sauvegarde
+        employe.setPerformance(performance);
+        employeRepository.save(employe);
+        journalEvenements.enregistrer(Evenement.performance(employe));
+    }
+
+    /**
+     * Revue annuelle des performances de plusieurs commerciaux, selon les mêmes règles que
+     * {@link #calculPerformanceCommercial(String, Long, Long)}.
+     *
+     * Tous les commerciaux sont chargés en une seule requête et la performance moyenne est calculée une seule fois
+     * sur cet état initial : elle ne dépend donc pas de l'ordre dans lequel les commerciaux sont traités. Les mises à
+     * jour sont écrites en batch à la fin de la transaction.
+     *
+     * @param resultats le chiffre d'affaire traité et l'objectif de chaque commercial, par matricule
+     *
+     * @throws EmployeException Si un matricule est invalide ou inexistant, ou si un chiffre d'affaire ou un objectif
+     * est négatif ou null. Dans ce cas aucune performance n'est modifiée.
+     */
+    public void calculPerformanceCommerciaux(Map<String, ResultatCommercial> resultats) throws EmployeException {
+        for (Map.Entry<String, ResultatCommercial> resultat : resultats.entrySet()) {
+            verifierResultatCommercial(resultat.getKey(), resultat.getValue().getCaTraite(), resultat.getValue().getObjectifCa());
+        }
+
+        executerRevue(() -> revuePerformances(resultats));
+    }
+
+    private void revuePerformances(Map<String, ResultatCommercial> resultats) throws EmployeException {
+        //Chargement de tous les commerciaux et calcul de la moyenne sur cet état
+        List<Employe> commerciaux = employeRepository.findByTypeEmploye("C");
+        Map<String, Employe> commerciauxParMatricule = new HashMap<>(commerciaux.size() * 2);
+        long sommePerformances = 0;
+        int nbPerformances = 0;
+        for (Employe commercial : commerciaux) {
+            commerciauxParMatricule.put(commercial.getMatricule(), commercial);
+            if(commercial.getPerformance() != null){
+                sommePerformances += commercial.getPerformance();
+                nbPerformances++;
+            }
+        }
+        Double performanceMoyenne = nbPerformances == 0 ? null : (double) sommePerformances / nbPerformances;
+
+        List<Employe> commerciauxModifies = new ArrayList<>(resultats.size());
+        for (Map.Entry<String, ResultatCommercial> resultat : resultats.entrySet()) {
+            Employe employe = commerciauxParMatricule.get(resultat.getKey());
+            if(employe == null){
+                throw new EmployeException("Le matricule " + resultat.getKey() + " n'existe pas !");
+            }
+            Integer performance = calculPerformanceSelonObjectif(employe.getPerformance(),
+                    resultat.getValue().getCaTraite(), resultat.getValue().getObjectifCa());
+            if(performanceMoyenne != null && performance > performanceMoyenne){
+                performance++;
+            }
+            employe.setPerformance(performance);
+            commerciauxModifies.add(employe);
+            journalEvenements.enregistrer(Evenement.performance(employe));
+        }
+        employeRepository.saveAll(commerciauxModifies);
+    }
+
+    @FunctionalInterface
+    private interface Revue {
+        void executer() throws EmployeException;
+    }
+
+    /**
+     * Exécute une opération en mesurant sa durée. Toute erreur, Error comprise, est mesurée comme un échec puis
+     * relancée.
+     */
+    private static <T> T mesurer(Operation<T> operation, Mesure mesure) throws EmployeException {
+        long debut = System.nanoTime();
+        Throwable erreur = null;
+        try {
+            return operation.executer();
+        } catch (Throwable e) {
+            erreur = e;
+            throw e;
+        } finally {
+            mesure.enregistrer(erreur, System.nanoTime() - debut);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Operation<T> {
+        T executer() throws EmployeException;
+    }
+
+    @FunctionalInterface
+    private interface Mesure {
+        void enregistrer(Throwable erreur, long dureeNanos);
+    }
+
+    /**
+     * Exécute une revue de performance (lecture, calcul puis mise à jour) dans sa propre transaction.
+     *
+     * Si un autre thread a modifié un des employés entre la lecture et l'écriture, le verrouillage optimiste fait
+     * échouer la transaction : elle est alors annulée et la revue recommencée sur l'état à jour, après une attente
+     * aléatoire croissante, dans la limite de {@link #NB_ESSAIS_REVUE_MAX} essais. Aucune mise à jour n'est perdue et
+     * les revues portant sur des employés différents ne s'attendent jamais.
+     *
+     * Appelée dans une transaction déjà ouverte, la revue y participe et n'est pas recommencée : le conflit éventuel
+     * ne sera détecté qu'à la validation de cette transaction.
+     *
+     * @throws EmployeException Si la revue échoue, ou si le conflit persiste après le dernier essai
+     */
+    private void executerRevue(Revue revue) throws EmployeException {
+        if(TransactionSynchronizationManager.isActualTransactionActive()){
+            revue.executer();
+            return;
+        }
+        for (int essai = 1; ; essai++) {
+            TransactionStatus transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+            try {
+                revue.executer();
+                //La validation émet les UPDATE et vérifie les versions
+                transactionManager.commit(transaction);
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                annuler(transaction);
+                if(essai == NB_ESSAIS_REVUE_MAX){
+                    logger.error("Revue de performance abandonnée après {} essais en conflit avec des revues concurrentes", essai);
+                    throw new EmployeException("La revue de performance est en conflit avec des revues concurrentes, veuillez réessayer !");
+                }
+                attendreAvantEssai(essai);
+            } catch (Throwable e) {
+                //Y compris les Error, pour ne pas laisser la transaction ouverte sur le thread
+                annuler(transaction);
+                throw e;
+            }
+        }
+    }
+
+    private void annuler(TransactionStatus transaction) {
+        //Une transaction dont la validation a échoué est déjà annulée
+        if(!transaction.isCompleted()){
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    private void attendreAvantEssai(int essai) throws EmployeException {
+        long attente = ATTENTE_REVUE_MS << (essai - 1);
+        try {
+            //Attente aléatoire pour que les revues en conflit ne recommencent pas toutes en même temps
+            Thread.sleep(attente / 2 + ThreadLocalRandom.current().nextLong(attente / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeException("La revue de performance a été interrompue !");
+        }
+    }
+
+    private void verifierResultatCommercial(String matricule, Long caTraite, Long objectifCa) throws EmployeException {
         //Vérification des paramètres d'entrée qui ne peuvent être null
         if(caTraite == null || caTraite < 0){
             throw new EmployeException("Le chiffre d'affaire traité ne peut être négatif ou null !");
@@ -118,40 +520,33 @@ public class EmployeService {
         if(matricule == null || !matricule.startsWith("C")){
             throw new EmployeException("Le matricule ne peut être null et doit commencer par un C !");
         }
-        //Recherche de l'employé dans la base si egale à null lever d'une exception
-
-        Employe employe = employeRepository.findByMatricule(matricule);
-        if(employe == null){
-            throw new EmployeException("Le matricule " + matricule + " n'existe pas !");
-        }
+    }
 
+    /**
+     * Application des 5 cas de calcul de la performance d'un commercial selon son objectif, sans le bonus par
+     * rapport à la moyenne.
+     */
+    private Integer calculPerformanceSelonObjectif(Integer performanceActuelle, Long caTraite, Long objectifCa) {
         Integer performance = Entreprise.PERFORMANCE_BASE;
         //Cas 2
         if(caTraite >= objectifCa*0.8 && caTraite < objectifCa*0.95){
-            performance = Math.max(Entreprise.PERFORMANCE_BASE, employe.getPerformance() - 2);
+            performance = Math.max(Entreprise.PERFORMANCE_BASE, performanceActuelle - 2);
         }
 
         //Cas 3 on reste a la performance de base
         else if(caTraite >= objectifCa*0.95 && caTraite <= objectifCa*1.05){
-            performance = Math.max(Entreprise.PERFORMANCE_BASE, employe.getPerformance());
+            performance = Math.max(Entreprise.PERFORMANCE_BASE, performanceActuelle);
         }
         //Cas 4
         else if(caTraite <= objectifCa*1.2 && caTraite > objectifCa*1.05){
-            performance = employe.getPerformance() + 1;
+            performance = performanceActuelle + 1;
         }
         //Cas 5
         else if(caTraite > objectifCa*1.2){
-            performance = employe.getPerformance() + 4;
+            performance = performanceActuelle + 4;
         }
         //Si autre cas, on reste à la performance de base.
-
-
-        //Appel a la methode calculPerformabceMoyenne
-        performance = calculPerformanceSuperieur(performance);
-
-        //Affectation et sauvegarde
-        employe.setPerformance(performance);
-        employeRepository.save(employe);
+        return performance;
     }
 
     /**
@@ -166,11 +561,15 @@ public class EmployeService {
 
 
     public Integer calculPerformanceSuperieur(Integer performance)throws EmployeException{
+        return mesurer(() -> performanceSuperieur(performance), employeMetrics::enregistrerCalculPerformanceSuperieur);
+    }
+
+    private Integer performanceSuperieur(Integer performance)throws EmployeException{
 
         if (performance == null){
         throw new EmployeException("La performance ne peut être null !");
     }
-        Double performanceMoyenne = employeRepository.avgPerformanceWhereMatriculeStartsWith("C");
+        Double performanceMoyenne = performanceMoyenneService.getPerformanceMoyenne("C");
         if(performanceMoyenne != null && performance > performanceMoyenne){
             performance++;
         }
@@ -0,0 +1,109 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécution asynchrone des embauches et des calculs de performance de {@link EmployeService}, pour absorber des pics
+ * de demandes sans multiplier les threads bloqués.
+ *
+ * Les appels sont exécutés par un nombre fixe de threads, égal par défaut à la taille du pool de connexions JDBC :
+ * aucun appel n'attend une connexion, les demandes en surplus attendent dans une file bornée. Quand la file est
+ * pleine, la demande est refusée immédiatement (RejectedExecutionException) plutôt que d'allonger l'attente de
+ * toutes les autres.
+ */
+@Service
+public class EmployeServiceAsynchrone {
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final EmployeService employeService;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param employeService le service exécutant les appels
+     * @param nbThreads le nombre d'appels exécutés en même temps
+     * @param tailleFile le nombre d'appels pouvant attendre un thread
+     */
+    public EmployeServiceAsynchrone(EmployeService employeService,
+                                    @Value("${java350.execution.nb-threads:${spring.datasource.hikari.maximum-pool-size:10}}") int nbThreads,
+                                    @Value("${java350.execution.taille-file:10000}") int tailleFile) {
+        this.employeService = employeService;
+        AtomicInteger numeroThread = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(nbThreads, nbThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tailleFile),
+                r -> new Thread(r, "employe-service-" + numeroThread.incrementAndGet()));
+        logger.info("Exécution asynchrone de EmployeService sur {} threads, {} demandes en attente au maximum", nbThreads, tailleFile);
+    }
+
+    /**
+     * @return la fin de l'embauche, en erreur avec l'EmployeException de {@link EmployeService#embaucheEmploye}
+     * ou avec une RejectedExecutionException si trop de demandes sont en attente
+     * @see EmployeService#embaucheEmploye(String, String, Poste, NiveauEtude, Double)
+     */
+    public CompletableFuture<Void> embaucheEmploye(String nom, String prenom, Poste poste, NiveauEtude niveauEtude, Double tempsPartiel) {
+        return executer(() -> employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel));
+    }
+
+    /**
+     * @return la fin du calcul, en erreur avec l'EmployeException de
+     * {@link EmployeService#calculPerformanceCommercial} ou avec une RejectedExecutionException si trop de demandes
+     * sont en attente
+     * @see EmployeService#calculPerformanceCommercial(String, Long, Long)
+     */
+    public CompletableFuture<Void> calculPerformanceCommercial(String matricule, Long caTraite, Long objectifCa) {
+        return executer(() -> employeService.calculPerformanceCommercial(matricule, caTraite, objectifCa));
+    }
+
+    /**
+     * @return le nombre de demandes en attente d'un thread
+     */
+    public int getNbDemandesEnAttente() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<Void> executer(Appel appel) {
+        CompletableFuture<Void> resultat = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    appel.executer();
+                    resultat.complete(null);
+                } catch (Throwable e) {
+                    //Y compris les Error : sinon le résultat ne serait jamais terminé et l'appelant attendrait
+                    //indéfiniment
+                    resultat.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //Pas de WARN par demande refusée : en pleine surcharge, il saturerait les logs
+            logger.debug("Demande refusée, {} demandes déjà en attente", executor.getQueue().size());
+            resultat.completeExceptionally(e);
+        }
+        return resultat;
+    }
+
+    @FunctionalInterface
+    private interface Appel {
+        void executer() throws EmployeException;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Distribution des matricules par type d'employé (première lettre du poste).
+ *
+ * Les derniers numéros attribués sont chargés une seule fois depuis la BDD au démarrage puis gérés en mémoire :
+ * une embauche ne fait plus aucune requête de lecture et deux threads ne peuvent pas obtenir le même matricule
+ * (réservation par compareAndSet).
+ *
+ * Ces compteurs ne sont pas partagés : une autre instance de l'application, ou un employé inséré directement en BDD,
+ * peut utiliser un matricule déjà réservé ici. La contrainte uk_employe_matricule refuse alors l'insertion ;
+ * {@link EmployeService} recale les compteurs du poste avec {@link #resynchroniser(Poste)} et recommence l'embauche
+ * une fois. Avec plusieurs instances qui embauchent en même temps sur le même poste, le nouvel essai peut à son tour
+ * échouer : les embauches d'un même poste doivent rester sur une seule instance.
+ */
+@Service
+public class MatriculeService {
+
+    public static final int NUMERO_MATRICULE_MAX = 99999;
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    //Dernier numéro attribué, indexé par Poste.ordinal()
+    private final AtomicIntegerArray derniersNumeros = new AtomicIntegerArray(Poste.values().length);
+
+    /**
+     * Charge depuis la BDD le dernier numéro de matricule de chaque type d'employé.
+     * Appelée au démarrage, et à rappeler si des employés sont insérés sans passer par ce service.
+     */
+    @PostConstruct
+    public void initialiser() {
+        for (Poste poste : Poste.values()) {
+            derniersNumeros.set(poste.ordinal(), dernierNumeroEnBdd(poste));
+        }
+    }
+
+    /**
+     * Recale le dernier numéro attribué du poste sur le dernier matricule en BDD, s'il est plus grand : les numéros
+     * réservés en mémoire et pas encore en BDD ne sont pas redistribués.
+     *
+     * @param poste Le poste dont le matricule attribué existait déjà en BDD
+     */
+    public void resynchroniser(Poste poste) {
+        derniersNumeros.accumulateAndGet(poste.ordinal(), dernierNumeroEnBdd(poste), Math::max);
+    }
+
+    private int dernierNumeroEnBdd(Poste poste) {
+        String lastMatricule = employeRepository.findLastMatriculeWhereMatriculeStartsWith(typeEmploye(poste));
+        if(lastMatricule == null){
+            lastMatricule = Entreprise.MATRICULE_INITIAL;
+        }
+        return Integer.parseInt(lastMatricule);
+    }
+
+    /**
+     * Attribue le prochain matricule pour le poste donné.
+     *
+     * @param poste Le poste de l'employé
+     * @return le matricule (type d'employé suivi du numéro sur 5 chiffres)
+     *
+     * @throws EmployeException Si on arrive au bout des matricules possibles
+     */
+    public String prochainMatricule(Poste poste) throws EmployeException {
+        return formaterMatricule(poste, reserverNumeros(poste, 1));
+    }
+
+    /**
+     * Réserve un bloc contigu de numéros de matricule pour le poste donné.
+     *
+     * @param poste Le poste des employés
+     * @param nombre Le nombre de numéros à réserver
+     * @return le premier numéro du bloc, les suivants étant premier + 1 ... premier + nombre - 1
+     *
+     * @throws EmployeException Si le bloc dépasse la limite des matricules possibles
+     */
+    public int reserverNumeros(Poste poste, int nombre) throws EmployeException {
+        if(nombre < 1){
+            throw new EmployeException("Le nombre de matricules à réserver doit être positif !");
+        }
+        int dernier;
+        int nouveauDernier;
+        do {
+            dernier = derniersNumeros.get(poste.ordinal());
+            nouveauDernier = dernier + nombre;
+            if(nouveauDernier > NUMERO_MATRICULE_MAX){
+                logger.error("Limite des 100000 matricules atteinte !");
+                throw new EmployeException("Limite des 100000 matricules atteinte !");
+            }
+        } while (!derniersNumeros.compareAndSet(poste.ordinal(), dernier, nouveauDernier));
+        return dernier + 1;
+    }
+
+    /**
+     * @param poste Le poste de l'employé
+     * @param numero Le numéro de matricule
+     * @return le matricule complété avec des 0 à gauche, par exemple T00042
+     */
+    public static String formaterMatricule(Poste poste, int numero) {
+        return Matricule.de(poste, numero).toString();
+    }
+
+    /**
+     * @param poste Le poste de l'employé
+     * @return le type d'employé, c'est à dire la première lettre du poste
+     */
+    public static String typeEmploye(Poste poste) {
+        return Matricule.typeEmploye(poste);
+    }
+}
@@ -0,0 +1,185 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.CalendrierAnnee;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.InstantaneEmployes;
+import com.ipiecoles.java.java350.model.LignePaie;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import com.ipiecoles.java.java350.model.StockEmployes;
+import com.ipiecoles.java.java350.model.TotauxPaie;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class PaieService {
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    //Nombre d'employés en dessous duquel un morceau n'est plus découpé
+    static final int SEUIL_DECOUPAGE = 1000;
+
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Méthode calculant la paie de tous les employés de l'entreprise : salaire, prime annuelle, RTT et congés.
+     *
+     * Les employés sont lus en flux depuis la BDD et détachés dès que leur ligne de paie est écrite, la mémoire
+     * utilisée ne dépend donc pas du nombre d'employés. Les règles de rémunération en vigueur au lancement sont
+     * appliquées à tous les employés, même si elles changent pendant le calcul.
+     *
+     * @param dateReference la date à laquelle sont calculées l'ancienneté et les RTT
+     * @param sortie la destination des lignes de paie
+     * @return le nombre d'employés traités
+     */
+    @Transactional(readOnly = true)
+    public long calculPaie(LocalDate dateReference, Consumer<LignePaie> sortie) {
+        ReglesRemuneration regles = Entreprise.regles();
+        logger.info("Calcul de la paie au {} avec les règles de rémunération {}", dateReference, regles.getVersion());
+        long nbEmployes = 0;
+        try (Stream<Employe> employes = employeRepository.streamAll()) {
+            Iterator<Employe> iterator = employes.iterator();
+            while (iterator.hasNext()) {
+                Employe employe = iterator.next();
+                sortie.accept(calculLignePaie(employe, dateReference, regles));
+                entityManager.detach(employe);
+                nbEmployes++;
+            }
+        }
+        logger.info("Paie calculée pour {} employés", nbEmployes);
+        return nbEmployes;
+    }
+
+    /**
+     * Charge l'instantané en colonnes des employés servant aux simulations de primes
+     * ({@link InstantaneEmployes#coutPrimes}). Les employés sont lus en flux et détachés au fur et à mesure, seul
+     * l'instantané reste en mémoire (17 octets par employé).
+     *
+     * @return l'instantané de tous les employés
+     */
+    @Transactional(readOnly = true)
+    public InstantaneEmployes chargerInstantaneEmployes() {
+        InstantaneEmployes instantane = new InstantaneEmployes((int) employeRepository.count());
+        try (Stream<Employe> employes = employeRepository.streamAll()) {
+            Iterator<Employe> iterator = employes.iterator();
+            while (iterator.hasNext()) {
+                Employe employe = iterator.next();
+                instantane.ajouter(employe);
+                entityManager.detach(employe);
+            }
+        }
+        logger.info("Instantané de {} employés chargé pour la simulation des primes", instantane.getNbEmployes());
+        return instantane;
+    }
+
+    /**
+     * Méthode calculant les totaux de paie par type d'employé (salaires, primes, RTT et congés) sur un instantané
+     * des employés, en parallèle sur tous les coeurs de la machine, avec les règles de rémunération en vigueur au
+     * lancement du calcul.
+     *
+     * Le résultat est identique à celui de {@link #calculTotauxPaieSequentiel(List, LocalDate)}.
+     *
+     * @param employes les employés
+     * @param dateReference la date à laquelle sont calculées l'ancienneté et les RTT
+     * @return les totaux par type d'employé
+     */
+    public TotauxPaie calculTotauxPaie(List<Employe> employes, LocalDate dateReference) {
+        Employe[] instantane = employes.toArray(new Employe[0]);
+        return forkJoinPool.invoke(new CalculTotauxTask(instantane, 0, instantane.length, dateReference, Entreprise.regles()));
+    }
+
+    public TotauxPaie calculTotauxPaieSequentiel(List<Employe> employes, LocalDate dateReference) {
+        ReglesRemuneration regles = Entreprise.regles();
+        TotauxPaie totaux = new TotauxPaie();
+        for (Employe employe : employes) {
+            totaux.ajouter(employe, dateReference, regles);
+        }
+        return totaux;
+    }
+
+    /**
+     * Totaux de paie calculés sur le stock hors tas des employés (voir {@link StockEmployesService}), sans charger
+     * d'entité ni allouer d'objet par employé. Le résultat est identique à celui de
+     * {@link #calculTotauxPaieSequentiel(List, LocalDate)} sur les employés du stock.
+     *
+     * @param stock le stock des employés
+     * @param dateReference la date à laquelle sont calculées l'ancienneté et les RTT
+     * @return les totaux par type d'employé
+     */
+    public TotauxPaie calculTotauxPaie(StockEmployes stock, LocalDate dateReference) {
+        CalendrierAnnee calendrier = Entreprise.calendrier(dateReference.getYear());
+        ReglesRemuneration regles = Entreprise.regles();
+        TotauxPaie totaux = new TotauxPaie();
+        for (int emplacement = 0; emplacement < stock.getNbEmployes(); emplacement++) {
+            totaux.ajouter(stock, emplacement, dateReference, calendrier, regles);
+        }
+        return totaux;
+    }
+
+    @PreDestroy
+    public void arreter() {
+        forkJoinPool.shutdown();
+    }
+
+    private static class CalculTotauxTask extends RecursiveTask<TotauxPaie> {
+
+        private final Employe[] employes;
+        private final int debut;
+        private final int fin;
+        private final LocalDate dateReference;
+        private final ReglesRemuneration regles;
+
+        CalculTotauxTask(Employe[] employes, int debut, int fin, LocalDate dateReference, ReglesRemuneration regles) {
+            this.employes = employes;
+            this.debut = debut;
+            this.fin = fin;
+            this.dateReference = dateReference;
+            this.regles = regles;
+        }
+
+        @Override
+        protected TotauxPaie compute() {
+            if(fin - debut <= SEUIL_DECOUPAGE){
+                TotauxPaie totaux = new TotauxPaie();
+                for (int i = debut; i < fin; i++) {
+                    totaux.ajouter(employes[i], dateReference, regles);
+                }
+                return totaux;
+            }
+            int milieu = (debut + fin) >>> 1;
+            CalculTotauxTask gauche = new CalculTotauxTask(employes, debut, milieu, dateReference, regles);
+            gauche.fork();
+            TotauxPaie totauxDroite = new CalculTotauxTask(employes, milieu, fin, dateReference, regles).compute();
+            return gauche.join().fusionner(totauxDroite);
+        }
+    }
+
+    static LignePaie calculLignePaie(Employe employe, LocalDate dateReference, ReglesRemuneration regles) {
+        return new LignePaie(employe.getMatricule(),
+                employe.getSalaire() == null ? 0d : employe.getSalaire(),
+                employe.primeAnnuelle(dateReference, regles),
+                employe.nbRtt(dateReference, regles),
+                employe.nbConges(dateReference, regles));
+    }
+}
@@ -0,0 +1,141 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Performance moyenne des employés par type (première lettre du matricule), tenue à jour en mémoire.
+ *
+ * Les cumuls sont mis à jour à chaque insertion, modification ou suppression d'un employé par
+ * {@link com.ipiecoles.java.java350.model.EmployeListener}, ce qui rend la lecture de la moyenne immédiate.
+ * Les modifications qui ne passent pas par JPA (requêtes en masse, transactions annulées...) sont rattrapées par
+ * la réconciliation périodique avec la BDD.
+ */
+@Service
+public class PerformanceMoyenneService {
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    //Cumul des performances, indexé par Poste.ordinal()
+    private final AtomicReferenceArray<Cumul> cumuls = new AtomicReferenceArray<>(Poste.values().length);
+
+    public PerformanceMoyenneService() {
+        for (int i = 0; i < cumuls.length(); i++) {
+            cumuls.set(i, Cumul.VIDE);
+        }
+    }
+
+    /**
+     * @param premiereLettreMatricule le type d'employé
+     * @return la performance moyenne des employés de ce type, ou null s'il n'y en a aucun
+     */
+    public Double getPerformanceMoyenne(String premiereLettreMatricule) {
+        int index = indexType(premiereLettreMatricule);
+        if(index < 0){
+            return null;
+        }
+        Cumul cumul = cumuls.get(index);
+        return cumul.nombre == 0 ? null : (double) cumul.somme / cumul.nombre;
+    }
+
+    public void ajouter(String matricule, Integer performance) {
+        modifier(matricule, performance, 1);
+    }
+
+    public void retirer(String matricule, Integer performance) {
+        modifier(matricule, performance, -1);
+    }
+
+    private void modifier(String matricule, Integer performance, int sens) {
+        int index = indexType(matricule);
+        if(index < 0 || performance == null){
+            return;
+        }
+        cumuls.updateAndGet(index, cumul -> new Cumul(cumul.somme + sens * performance, cumul.nombre + sens));
+    }
+
+    /**
+     * Recalcule les cumuls à partir de la BDD, au démarrage puis périodiquement.
+     *
+     * Les modifications appliquées en mémoire pendant la requête ne sont pas écrasées : elles se déduisent des cumuls
+     * relevés au lancement de la requête et sont ajoutées aux cumuls de la BDD. Une transaction validée juste avant la
+     * requête mais appliquée en mémoire juste après est alors comptée deux fois, jusqu'à la réconciliation suivante.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${java350.performance-moyenne.reconciliation-ms:600000}",
+            initialDelayString = "${java350.performance-moyenne.reconciliation-ms:600000}")
+    public void reconcilier() {
+        Cumul[] avantRequete = new Cumul[cumuls.length()];
+        Cumul[] cumulsEnBdd = new Cumul[cumuls.length()];
+        for (int i = 0; i < cumulsEnBdd.length; i++) {
+            avantRequete[i] = cumuls.get(i);
+            cumulsEnBdd[i] = Cumul.VIDE;
+        }
+        List<Object[]> sommes = employeRepository.sumAndCountPerformanceGroupByPremiereLettreMatricule();
+        for (Object[] ligne : sommes) {
+            int index = indexType((String) ligne[0]);
+            if(index >= 0 && ligne[1] != null){
+                cumulsEnBdd[index] = new Cumul(((Number) ligne[1]).longValue(), ((Number) ligne[2]).longValue());
+            }
+        }
+        for (int i = 0; i < cumulsEnBdd.length; i++) {
+            Cumul courant;
+            Cumul corrige;
+            do {
+                courant = cumuls.get(i);
+                corrige = new Cumul(cumulsEnBdd[i].somme + courant.somme - avantRequete[i].somme,
+                        cumulsEnBdd[i].nombre + courant.nombre - avantRequete[i].nombre);
+            } while (!cumuls.compareAndSet(i, courant, corrige));
+            if(!avantRequete[i].equals(cumulsEnBdd[i])){
+                logger.warn("Cumul des performances de type {} réconcilié avec la BDD : {} au lieu de {}", Poste.values()[i], cumulsEnBdd[i], avantRequete[i]);
+            }
+        }
+    }
+
+    private static int indexType(String matricule) {
+        return matricule == null || matricule.isEmpty() ? -1 : Matricule.ordinalPosteDuType(matricule.charAt(0));
+    }
+
+    private static final class Cumul {
+        private static final Cumul VIDE = new Cumul(0, 0);
+
+        private final long somme;
+        private final long nombre;
+
+        private Cumul(long somme, long nombre) {
+            this.somme = somme;
+            this.nombre = nombre;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cumul)) return false;
+            Cumul cumul = (Cumul) o;
+            return somme == cumul.somme && nombre == cumul.nombre;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(somme) * 31 + Long.hashCode(nombre);
+        }
+
+        @Override
+        public String toString() {
+            return somme + "/" + nombre;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Chargement des règles de rémunération depuis un fichier de propriétés (format décrit par
+ * {@link ReglesRemuneration#lire(Properties)}), sans redéploiement : le fichier est relu dès que sa date de
+ * modification change et la nouvelle version remplace l'ancienne d'un bloc (voir
+ * {@link Entreprise#appliquerRegles(ReglesRemuneration)}).
+ *
+ * Sans fichier configuré, les règles par défaut sont conservées. Un fichier invalide est ignoré et les règles en
+ * vigueur restent appliquées.
+ */
+@Service
+public class ReglesRemunerationService {
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Path fichier;
+
+    private long dateModificationChargee = Long.MIN_VALUE;
+
+    public ReglesRemunerationService(@Value("${java350.remuneration.regles-fichier:}") String fichier) {
+        this.fichier = fichier.isEmpty() ? null : Paths.get(fichier);
+    }
+
+    /**
+     * Recharge les règles si le fichier a été modifié depuis le dernier chargement, au démarrage puis
+     * périodiquement.
+     *
+     * @return vrai si une nouvelle version des règles a été mise en vigueur
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${java350.remuneration.verification-ms:60000}",
+            initialDelayString = "${java350.remuneration.verification-ms:60000}")
+    public synchronized boolean recharger() {
+        if(fichier == null || !Files.isRegularFile(fichier)){
+            return false;
+        }
+        try {
+            long dateModification = Files.getLastModifiedTime(fichier).toMillis();
+            if(dateModification == dateModificationChargee){
+                return false;
+            }
+            //Un fichier invalide n'est signalé qu'une fois, jusqu'à sa prochaine modification
+            dateModificationChargee = dateModification;
+            ReglesRemuneration regles = lireRegles();
+            String versionPrecedente = Entreprise.regles().getVersion();
+            Entreprise.appliquerRegles(regles);
+            logger.info("Règles de rémunération {} chargées depuis {} (version précédente : {})", regles.getVersion(), fichier, versionPrecedente);
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Règles de rémunération de {} ignorées : {}", fichier, e.getMessage());
+            return false;
+        }
+    }
+
+    private ReglesRemuneration lireRegles() throws IOException {
+        Properties proprietes = new Properties();
+        try (Reader reader = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            proprietes.load(reader);
+        }
+        return ReglesRemuneration.lire(proprietes);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.StockEmployes;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Stock hors tas des employés ({@link StockEmployes}) servant aux traitements d'analyse, pour ne plus charger les
+ * entités à chaque passage.
+ *
+ * Le stock n'est pas mis à jour par les modifications des employés : il est reconstruit à la demande par
+ * {@link #rafraichir()}. Les lecteurs qui ont obtenu le stock précédent le gardent jusqu'à la fin de leur traitement.
+ */
+@Service
+public class StockEmployesService {
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private volatile StockEmployes stock = new StockEmployes(0);
+
+    /**
+     * Reconstruit le stock depuis la BDD. Les employés sont lus en flux et détachés au fur et à mesure, le nouveau
+     * stock remplace l'ancien une fois complet.
+     *
+     * @return le nouveau stock
+     */
+    @Transactional(readOnly = true)
+    public StockEmployes rafraichir() {
+        StockEmployes nouveauStock = new StockEmployes((int) employeRepository.count());
+        try (Stream<Employe> employes = employeRepository.streamAll()) {
+            Iterator<Employe> iterator = employes.iterator();
+            while (iterator.hasNext()) {
+                Employe employe = iterator.next();
+                nouveauStock.ajouter(employe);
+                entityManager.detach(employe);
+            }
+        }
+        stock = nouveauStock;
+        logger.info("Stock de {} employés rafraîchi", nouveauStock.getNbEmployes());
+        return nouveauStock;
+    }
+
+    /**
+     * @return le dernier stock construit, vide si {@link #rafraichir()} n'a jamais été appelée
+     */
+    public StockEmployes getStock() {
+        return stock;
+    }
+}
@@ -0,0 +1,13 @@
+-- Migration d'une base existante : contrainte d'unicité sur le matricule et colonne type_employe indexée.
+-- (les nouvelles bases sont créées directement avec ce schéma par Hibernate)
+
+-- Les doublons de matricule empêchent la création de la contrainte, à vérifier avant la migration :
+-- select matricule, count(*) from employe group by matricule having count(*) > 1;
+
+alter table employe add column type_employe varchar(1);
+
+update employe set type_employe = substring(matricule, 1, 1) where matricule is not null and matricule <> '';
+
+alter table employe add constraint uk_employe_matricule unique (matricule);
+
+create index idx_employe_type_employe_matricule on employe (type_employe, matricule);
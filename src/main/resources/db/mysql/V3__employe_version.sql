@@ -0,0 +1,3 @@
+-- Migration d'une base existante : colonne de version pour le verrouillage optimiste des employés.
+
+alter table employe add column version bigint not null default 0;
@@ -0,0 +1,8 @@
+-- Migration d'une base existante : index couvrants des agrégats des tableaux de bord
+-- (masse salariale par type, salaire moyen par année d'embauche, effectif par performance).
+
+create index idx_employe_type_employe_salaire on employe (type_employe, salaire);
+
+create index idx_employe_date_embauche_salaire on employe (date_embauche, salaire);
+
+create index idx_employe_performance on employe (performance);
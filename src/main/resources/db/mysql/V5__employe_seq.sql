@@ -0,0 +1,12 @@
+-- Migration d'une base existante : séquence employe_seq des ids d'employé, allouée par blocs de 50.
+-- (les nouvelles bases sont créées directement avec ce schéma par Hibernate)
+
+-- MySQL n'a pas de séquence, Hibernate l'émule par une table à une ligne. L'ancienne table hibernate_sequence
+-- n'est plus utilisée pour les employés.
+create table if not exists employe_seq (next_val bigint) engine=InnoDB;
+
+delete from employe_seq;
+
+-- Avec l'allocation par blocs (optimiseur pooled), la valeur lue N réserve les ids N - 49 à N : la valeur de départ
+-- doit donc dépasser de 50 le plus grand id existant pour que le premier bloc ne réutilise aucun id.
+insert into employe_seq (next_val) select coalesce(max(id), 0) + 50 from employe;
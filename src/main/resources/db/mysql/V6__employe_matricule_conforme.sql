@@ -0,0 +1,27 @@
+-- Migration d'une base existante : mise en conformité des matricules, une lettre majuscule suivie de 5 chiffres.
+-- L'application ne lit que ce format (Matricule) : une seule ligne non conforme fait échouer toute lecture qui la
+-- rencontre, dont les lectures de tous les employés (calcul de la paie, stock des employés, instantané des primes).
+
+-- Matricules non conformes, à lister avant et après la migration (ascii() teste la lettre en tenant compte de la
+-- casse, quelle que soit la collation de la colonne) :
+-- select id, matricule from employe
+-- where matricule is null or length(matricule) <> 6 or ascii(matricule) not between 65 and 90
+--    or substring(matricule, 2) not regexp '^[0-9]{5}$';
+
+-- Espaces autour du matricule
+update employe set matricule = trim(matricule) where length(matricule) <> length(trim(matricule));
+
+-- Lettre en minuscule
+update employe set matricule = concat(upper(left(matricule, 1)), substring(matricule, 2))
+where ascii(matricule) between 97 and 122;
+
+-- Numéro sur moins de 5 chiffres
+update employe set matricule = concat(left(matricule, 1), lpad(substring(matricule, 2), 5, '0'))
+where ascii(matricule) between 65 and 90 and substring(matricule, 2) regexp '^[0-9]{1,4}$';
+
+-- Le type d'employé suit la lettre du matricule
+update employe set type_employe = left(matricule, 1)
+where matricule is not null and ascii(matricule) between 65 and 90 and binary type_employe <> binary left(matricule, 1);
+
+-- Les matricules encore listés par la requête ci-dessus (lettre absente, numéro trop long, autres caractères) sont
+-- à corriger à la main, en attribuant un matricule libre du poste de l'employé.
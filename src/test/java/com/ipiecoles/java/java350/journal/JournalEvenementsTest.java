@@ -0,0 +1,223 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+public class JournalEvenementsTest {
+
+    private Path repertoire;
+
+    private JournalEvenements journal;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        repertoire = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if(journal != null){
+            journal.fermer();
+        }
+    }
+
+    private void ouvrir(int tailleSegment) throws IOException {
+        journal = new JournalEvenements(repertoire.toString(), tailleSegment);
+        journal.ouvrir();
+    }
+
+    private List<Evenement> lire() throws IOException {
+        List<Evenement> evenements = new ArrayList<>();
+        new LecteurJournal(repertoire).lire(evenements::add);
+        return evenements;
+    }
+
+    private static Evenement performance(String matricule, int performance) {
+        return new Evenement(TypeEvenement.PERFORMANCE, 1L, matricule, null, null, null, null, performance, null);
+    }
+
+    @Test
+    public void testEnregistrerEtLireEmbauche() throws IOException {
+        //Given
+        ouvrir(1024);
+        Evenement embauche = new Evenement(TypeEvenement.EMBAUCHE, 1555000000000L, "T00042", "Doe", "Jérôme",
+                LocalDate.of(2019, 4, 11), 1825.46, 1, 0.5);
+
+        //When
+        journal.enregistrer(embauche);
+
+        //Then
+        List<Evenement> evenements = lire();
+        Assertions.assertEquals(1, evenements.size());
+        Evenement lu = evenements.get(0);
+        Assertions.assertEquals(TypeEvenement.EMBAUCHE, lu.getType());
+        Assertions.assertEquals(1555000000000L, lu.getHorodatage());
+        Assertions.assertEquals("T00042", lu.getMatricule());
+        Assertions.assertEquals("Doe", lu.getNom());
+        Assertions.assertEquals("Jérôme", lu.getPrenom());
+        Assertions.assertEquals(LocalDate.of(2019, 4, 11), lu.getDateEmbauche());
+        Assertions.assertEquals(1825.46, lu.getSalaire().doubleValue());
+        Assertions.assertEquals(1, lu.getPerformance().intValue());
+        Assertions.assertEquals(0.5, lu.getTempsPartiel().doubleValue());
+    }
+
+    @Test
+    public void testEnregistrerChampsAbsents() throws IOException {
+        //Given
+        ouvrir(1024);
+
+        //When
+        journal.enregistrer(performance("C00001", 3));
+
+        //Then
+        Evenement lu = lire().get(0);
+        Assertions.assertEquals(3, lu.getPerformance().intValue());
+        Assertions.assertNull(lu.getNom());
+        Assertions.assertNull(lu.getPrenom());
+        Assertions.assertNull(lu.getDateEmbauche());
+        Assertions.assertNull(lu.getSalaire());
+        Assertions.assertNull(lu.getTempsPartiel());
+    }
+
+    @Test
+    public void testNomTronqueSansCouperUnCaractere() throws IOException {
+        //Given
+        ouvrir(1024);
+        //38 octets puis un caractère de 2 octets
+        String nom = new String(new char[38]).replace('\0', 'a') + "é";
+
+        //When
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 1L, "T00001", nom, "John", null, null, null, null));
+
+        //Then
+        Assertions.assertEquals(nom.substring(0, 38), lire().get(0).getNom());
+    }
+
+    @Test
+    public void testChangementDeSegment() throws IOException {
+        //Given
+        ouvrir(FormatJournal.TAILLE_ENTETE + FormatJournal.TAILLE_ENREGISTREMENT * 2);
+
+        //When
+        for (int i = 1; i <= 5; i++) {
+            journal.enregistrer(performance("C00001", i));
+        }
+
+        //Then
+        Assertions.assertEquals(3, FormatJournal.segments(repertoire).size());
+        List<Evenement> evenements = lire();
+        Assertions.assertEquals(5, evenements.size());
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals(i + 1, evenements.get(i).getPerformance().intValue());
+        }
+    }
+
+    @Test
+    public void testReouvertureApresDernierEvenement() throws IOException {
+        //Given
+        ouvrir(1024);
+        journal.enregistrer(performance("C00001", 1));
+        journal.fermer();
+
+        //When
+        ouvrir(1024);
+        journal.enregistrer(performance("C00001", 2));
+
+        //Then
+        List<Evenement> evenements = lire();
+        Assertions.assertEquals(2, evenements.size());
+        Assertions.assertEquals(1, evenements.get(0).getPerformance().intValue());
+        Assertions.assertEquals(2, evenements.get(1).getPerformance().intValue());
+    }
+
+    @Test
+    public void testSegmentSansVersion() throws IOException {
+        //Given un segment écrit avant l'ajout de l'entête, commençant par une performance
+        byte[] ancienSegment = new byte[1024];
+        ancienSegment[0] = TypeEvenement.PERFORMANCE.getCode();
+        Files.write(FormatJournal.segment(repertoire, 1), ancienSegment);
+
+        //When
+        ouvrir(1024);
+        journal.enregistrer(performance("C00001", 2));
+
+        //Then l'ancien segment n'est pas complété, et il est refusé à la lecture
+        Assertions.assertEquals(2, FormatJournal.segments(repertoire).size());
+        Assertions.assertArrayEquals(ancienSegment, Files.readAllBytes(FormatJournal.segment(repertoire, 1)));
+        IOException e = Assertions.assertThrows(IOException.class, this::lire);
+        Assertions.assertTrue(e.getMessage().contains("sans version de format"));
+    }
+
+    @Test
+    public void testRejouerAugmentationGeneraleAvecBandeEnregistree() throws IOException {
+        //Given une augmentation des salaires de la bande [1500, 1900[ enregistrée avec d'autres règles que les
+        //règles actuelles
+        ouvrir(1024);
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 1L, "T00001", "Doe", "John", null, 1521.22, 1, 1.0));
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 2L, "T00002", "Doe", "Jane", null, 1825.46, 1, 1.0));
+        journal.enregistrer(new Evenement(TypeEvenement.AUGMENTATION_GENERALE, 3L, null, null, null, null, null,
+                null, null, 0.1, NiveauEtude.BAC, 1500d, 1900d));
+
+        //When
+        List<Employe> employes = new ArrayList<>(ReconstructionEmployes.rejouer(new LecteurJournal(repertoire)));
+
+        //Then
+        Assertions.assertEquals(1673d, employes.get(0).getSalaire().doubleValue());
+        Assertions.assertEquals(2008d, employes.get(1).getSalaire().doubleValue());
+    }
+
+    @Test
+    public void testLireParType() throws IOException {
+        //Given
+        ouvrir(1024);
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 1L, "C00001", "Doe", "John", null, null, 1, null));
+        journal.enregistrer(performance("C00001", 2));
+        journal.enregistrer(new Evenement(TypeEvenement.AUGMENTATION_SALAIRE, 1L, "C00001", null, null, null, 2000d, null, null));
+        List<Evenement> evenements = new ArrayList<>();
+
+        //When
+        long nbEvenements = new LecteurJournal(repertoire).lire(EnumSet.of(TypeEvenement.PERFORMANCE), evenements::add);
+
+        //Then
+        Assertions.assertEquals(1, nbEvenements);
+        Assertions.assertEquals(TypeEvenement.PERFORMANCE, evenements.get(0).getType());
+    }
+
+    @Test
+    public void testRejouer() throws IOException {
+        //Given
+        ouvrir(1024);
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 1L, "C00001", "Doe", "John", LocalDate.of(2019, 1, 2), 1521.22, 1, 1.0));
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 2L, "T00001", "Doe", "Jane", LocalDate.of(2019, 1, 3), 1825.46, 1, 0.5));
+        journal.enregistrer(performance("C00001", 5));
+        journal.enregistrer(new Evenement(TypeEvenement.AUGMENTATION_SALAIRE, 4L, "T00001", null, null, null, 2000d, null, null));
+        //Employé embauché avant la mise en place du journal
+        journal.enregistrer(performance("C00099", 3));
+
+        //When
+        List<Employe> employes = new ArrayList<>(ReconstructionEmployes.rejouer(new LecteurJournal(repertoire)));
+
+        //Then
+        Assertions.assertEquals(2, employes.size());
+        Assertions.assertEquals("C00001", employes.get(0).getMatricule());
+        Assertions.assertEquals(5, employes.get(0).getPerformance().intValue());
+        Assertions.assertEquals(1521.22, employes.get(0).getSalaire().doubleValue());
+        Assertions.assertEquals("T00001", employes.get(1).getMatricule());
+        Assertions.assertEquals("Jane", employes.get(1).getPrenom());
+        Assertions.assertEquals(LocalDate.of(2019, 1, 3), employes.get(1).getDateEmbauche());
+        Assertions.assertEquals(2000d, employes.get(1).getSalaire().doubleValue());
+        Assertions.assertEquals(0.5, employes.get(1).getTempsPartiel().doubleValue());
+    }
+}
@@ -0,0 +1,132 @@
+package com.ipiecoles.java.java350.journal;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import com.ipiecoles.java.java350.service.EmployeService;
+import com.ipiecoles.java.java350.service.MatriculeService;
+import com.ipiecoles.java.java350.service.PerformanceMoyenneService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class ReconstructionEmployesIntegrationTest {
+
+    @Autowired
+    private EmployeService employeService;
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @Autowired
+    private MatriculeService matriculeService;
+
+    @Autowired
+    private JournalEvenements journalEvenements;
+
+    @Autowired
+    private ReconstructionEmployes reconstructionEmployes;
+
+    @Autowired
+    private PerformanceMoyenneService performanceMoyenneService;
+
+    @BeforeEach
+    @AfterEach
+    public void setup(){
+        employeRepository.deleteAll();
+        matriculeService.initialiser();
+        performanceMoyenneService.reconcilier();
+    }
+
+    private List<Evenement> evenementsDepuis(long nbEvenementsAvant) throws IOException {
+        List<Evenement> evenements = new ArrayList<>();
+        new LecteurJournal(journalEvenements.getRepertoire()).lire(evenements::add);
+        return evenements.subList((int) nbEvenementsAvant, evenements.size());
+    }
+
+    @Test
+    public void integrationEvenementsEmployeService() throws Exception {
+        //Given
+        long nbEvenementsAvant = new LecteurJournal(journalEvenements.getRepertoire()).lire(evenement -> { });
+        employeRepository.save(new Employe("Doe", "Jane", "C00100", LocalDate.now(), Entreprise.SALAIRE_BASE, 100, 1.0));
+        matriculeService.initialiser();
+
+        //When
+        employeService.embaucheEmploye("Doe", "John", Poste.COMMERCIAL, NiveauEtude.MASTER, 1.0);
+        employeService.calculPerformanceCommercial("C00101", 130000L, 120000L);
+        employeService.augmenterSalaire("C00101", 0.1);
+        employeService.augmenterSalaires(0.02, new CritereAugmentation(Poste.COMMERCIAL, null, 2));
+        //Revue annulée : rien n'est journalisé
+        Assertions.assertThrows(EmployeException.class, () -> employeService.calculPerformanceCommercial("C00999", 1L, 1L));
+
+        //Then
+        List<Evenement> evenements = evenementsDepuis(nbEvenementsAvant);
+        Assertions.assertEquals(4, evenements.size());
+        Assertions.assertEquals(TypeEvenement.EMBAUCHE, evenements.get(0).getType());
+        Assertions.assertEquals("C00101", evenements.get(0).getMatricule());
+        Assertions.assertEquals("John", evenements.get(0).getPrenom());
+        Assertions.assertEquals(TypeEvenement.PERFORMANCE, evenements.get(1).getType());
+        Assertions.assertEquals(2, evenements.get(1).getPerformance().intValue());
+        Assertions.assertEquals(TypeEvenement.AUGMENTATION_SALAIRE, evenements.get(2).getType());
+        Assertions.assertEquals(TypeEvenement.AUGMENTATION_GENERALE, evenements.get(3).getType());
+        Assertions.assertEquals(0.02, evenements.get(3).getPourcentage().doubleValue());
+        Assertions.assertEquals("C", evenements.get(3).getMatricule());
+        Assertions.assertEquals(2, evenements.get(3).getPerformance().intValue());
+        //Le salaire en cache avant l'augmentation générale a été invalidé
+        double salaireAugmente = evenements.get(2).getSalaire();
+        Assertions.assertEquals(Math.round(salaireAugmente * 1.02), employeRepository.findByMatricule("C00101").getSalaire().doubleValue());
+    }
+
+    @Test
+    public void integrationReconstruire() throws IOException {
+        //Given
+        Path repertoire = Files.createTempDirectory("journal");
+        JournalEvenements journal = new JournalEvenements(repertoire.toString(), 1024);
+        journal.ouvrir();
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 1L, "T00001", "Doe", "John", LocalDate.of(2019, 1, 2), 1521.22, 1, 1.0));
+        journal.enregistrer(new Evenement(TypeEvenement.PERFORMANCE, 2L, "T00001", null, null, null, null, 4, null));
+        journal.enregistrer(new Evenement(TypeEvenement.EMBAUCHE, 3L, "T00002", "Doe", "Jim", LocalDate.of(2019, 1, 3), 1825.46, 1, 1.0));
+        journal.fermer();
+        //Employé embauché avant la mise en place du journal
+        employeRepository.save(new Employe("Doe", "Jane", "C00001", LocalDate.of(2010, 5, 1), 2000d, 3, 1.0));
+        //Employé du journal dont la ligne en BDD a divergé
+        employeRepository.save(new Employe("Doe", "Jim", "T00002", LocalDate.of(2019, 1, 3), 9999d, 5, 0.5));
+
+        //When
+        int nbEmployes = reconstructionEmployes.reconstruire(new LecteurJournal(repertoire));
+
+        //Then
+        Assertions.assertEquals(2, nbEmployes);
+        Assertions.assertEquals(3, employeRepository.count());
+        Employe employe = employeRepository.findByMatricule("T00001");
+        Assertions.assertEquals(4, employe.getPerformance().intValue());
+        Assertions.assertEquals(1521.22, employe.getSalaire().doubleValue());
+        Employe fusionne = employeRepository.findByMatricule("T00002");
+        Assertions.assertEquals(1825.46, fusionne.getSalaire().doubleValue());
+        Assertions.assertEquals(1, fusionne.getPerformance().intValue());
+        Assertions.assertEquals(1.0, fusionne.getTempsPartiel().doubleValue());
+        Employe avantJournal = employeRepository.findByMatricule("C00001");
+        Assertions.assertNotNull(avantJournal);
+        Assertions.assertEquals("Jane", avantJournal.getPrenom());
+        Assertions.assertEquals(2000d, avantJournal.getSalaire().doubleValue());
+        Assertions.assertEquals(3, avantJournal.getPerformance().intValue());
+    }
+}
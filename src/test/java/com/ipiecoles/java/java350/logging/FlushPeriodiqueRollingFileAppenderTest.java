@@ -0,0 +1,117 @@
+package com.ipiecoles.java.java350.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class FlushPeriodiqueRollingFileAppenderTest {
+
+    private LoggerContext context;
+
+    private Path repertoire;
+
+    private FlushPeriodiqueRollingFileAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        context = new LoggerContext();
+        repertoire = Files.createTempDirectory("logs");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if(appender != null){
+            appender.stop();
+        }
+        context.stop();
+    }
+
+    private void demarrer(long flushPeriodMs) {
+        appender = new FlushPeriodiqueRollingFileAppender<>();
+        appender.setContext(context);
+        appender.setFile(new File(repertoire.toFile(), "info.log").getPath());
+        appender.setImmediateFlush(false);
+        appender.setFlushPeriod(Duration.buildByMilliseconds(flushPeriodMs));
+
+        TimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new TimeBasedRollingPolicy<>();
+        rollingPolicy.setContext(context);
+        rollingPolicy.setParent(appender);
+        rollingPolicy.setFileNamePattern(new File(repertoire.toFile(), "info.%d{yyyy-MM-dd}.log").getPath());
+        rollingPolicy.start();
+        appender.setRollingPolicy(rollingPolicy);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        appender.setEncoder(encoder);
+
+        appender.start();
+    }
+
+    private void log(String message) {
+        appender.doAppend(new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, message, null, null));
+    }
+
+    private String contenu() throws IOException {
+        return new String(Files.readAllBytes(repertoire.resolve("info.log")), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testEcritureDifferee() throws IOException {
+        //Given
+        demarrer(60000);
+
+        //When
+        log("Embauche de John Doe");
+        String avantFlush = contenu();
+        appender.flush();
+
+        //Then
+        Assertions.assertEquals("", avantFlush);
+        Assertions.assertEquals("Embauche de John Doe" + System.lineSeparator(), contenu());
+    }
+
+    @Test
+    public void testFlushPeriodique() throws Exception {
+        //Given
+        demarrer(20);
+
+        //When
+        log("Embauche de John Doe");
+
+        //Then
+        long limite = System.currentTimeMillis() + 5000;
+        while (contenu().isEmpty() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals("Embauche de John Doe" + System.lineSeparator(), contenu());
+    }
+
+    @Test
+    public void testStopEcritLeTampon() throws IOException {
+        //Given
+        demarrer(60000);
+        log("Embauche de John Doe");
+
+        //When
+        appender.stop();
+
+        //Then
+        Assertions.assertEquals("Embauche de John Doe" + System.lineSeparator(), contenu());
+    }
+}
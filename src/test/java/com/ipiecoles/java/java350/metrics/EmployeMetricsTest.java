@@ -0,0 +1,50 @@
+package com.ipiecoles.java.java350.metrics;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class EmployeMetricsTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    EmployeMetrics employeMetrics = new EmployeMetrics(meterRegistry);
+
+    @Test
+    public void testEnregistrerEmbaucheSucces() {
+        //When
+        employeMetrics.enregistrerEmbauche(Poste.MANAGER, NiveauEtude.MASTER, null, 2_000_000L);
+
+        //Then
+        Assertions.assertEquals(1, meterRegistry.get("java350.employe.embauche")
+                .tag("poste", "MANAGER").tag("niveauEtude", "MASTER").tag("outcome", "success").timer().count());
+        Assertions.assertEquals(2d, meterRegistry.get("java350.employe.embauche")
+                .tag("poste", "MANAGER").tag("niveauEtude", "MASTER").tag("outcome", "success").timer().totalTime(TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1d, meterRegistry.get("java350.employe.embauches").tag("poste", "MANAGER").counter().count());
+    }
+
+    @Test
+    public void testEnregistrerEmbaucheErreur() {
+        //When
+        employeMetrics.enregistrerEmbauche(Poste.TECHNICIEN, null, new EmployeException("Limite des 100000 matricules atteinte !"), 1000L);
+
+        //Then
+        Assertions.assertEquals(1, meterRegistry.get("java350.employe.embauche")
+                .tag("poste", "TECHNICIEN").tag("niveauEtude", "none").tag("outcome", "EmployeException").timer().count());
+        Assertions.assertEquals(0d, meterRegistry.get("java350.employe.embauches").tag("poste", "TECHNICIEN").counter().count());
+    }
+
+    @Test
+    public void testIndexResultat() {
+        //When/Then
+        Assertions.assertEquals("success", EmployeMetrics.RESULTATS[EmployeMetrics.indexResultat(null)]);
+        Assertions.assertEquals("EmployeException", EmployeMetrics.RESULTATS[EmployeMetrics.indexResultat(new EmployeException("erreur"))]);
+        Assertions.assertEquals("other", EmployeMetrics.RESULTATS[EmployeMetrics.indexResultat(new IllegalStateException("erreur"))]);
+        Assertions.assertEquals("other", EmployeMetrics.RESULTATS[EmployeMetrics.indexResultat(new OutOfMemoryError("erreur"))]);
+    }
+}
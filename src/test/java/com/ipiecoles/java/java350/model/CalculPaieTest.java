@@ -0,0 +1,82 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.Properties;
+
+public class CalculPaieTest {
+
+    private static final LocalDate DATE_REFERENCE = LocalDate.of(2021, 6, 15);
+
+    @ParameterizedTest(name="embauche {0} : {1} années d'ancienneté")
+    @CsvSource({
+            "2021-06-15, 0",
+            "2019-12-31, 2",
+            "2021-01-01, 0",
+            "2023-01-01, 0"
+    })
+    void testNombreAnneeAnciennete(LocalDate dateEmbauche, int anciennete){
+        //When/Then
+        Assertions.assertEquals(anciennete, CalculPaie.nombreAnneeAnciennete(dateEmbauche, DATE_REFERENCE));
+    }
+
+    @Test
+    public void testNombreAnneeAncienneteDateEmbaucheNull(){
+        //When/Then
+        Assertions.assertEquals(0, CalculPaie.nombreAnneeAnciennete(null, DATE_REFERENCE));
+    }
+
+    @ParameterizedTest(name="manager {0}, performance {1}, ancienneté {2}, temps partiel {3} : {4}")
+    @CsvSource({
+            "false, 1, 0, 1.0, 1000.0",
+            "false, 1, 2, 0.5, 600.0",
+            "false, 2, 1, 1.0, 2400.0",
+            "true, 1, 0, 1.0, 1700.0",
+            "true, 2, 8, 1.0, 2500.0"
+    })
+    void testPrimeAnnuelle(boolean manager, int performance, int anciennete, double tempsPartiel, double prime){
+        //When/Then
+        Assertions.assertEquals(prime, CalculPaie.primeAnnuelle(manager, performance, anciennete, tempsPartiel));
+    }
+
+    @Test
+    public void testDelegationDepuisEmploye(){
+        //Given
+        Employe employe = new Employe("Doe", "John", "T12345", LocalDate.of(2016, 3, 1), Entreprise.SALAIRE_BASE, 3, 0.5);
+
+        //When/Then
+        Assertions.assertEquals(5, employe.nombreAnneeAnciennete(DATE_REFERENCE));
+        Assertions.assertEquals(30, employe.nbConges(DATE_REFERENCE));
+        Assertions.assertEquals(CalculPaie.nbRtt(Entreprise.calendrier(2021), 30, 0.5), employe.nbRtt(DATE_REFERENCE));
+        Assertions.assertEquals((1000 * 3.3 + 500) * 0.5, employe.primeAnnuelle(DATE_REFERENCE), 0.001);
+    }
+
+    @Test
+    public void testReglesRemunerationPassees(){
+        //Given
+        Properties proprietes = ReglesRemunerationTest.proprietes();
+        proprietes.setProperty("nbCongesBase", "27");
+        proprietes.setProperty("primeBase", "1200");
+        ReglesRemuneration regles = ReglesRemuneration.lire(proprietes);
+        Employe employe = new Employe("Doe", "John", "T12345", LocalDate.of(2016, 3, 1), Entreprise.SALAIRE_BASE, 3, 0.5);
+
+        //When/Then
+        Assertions.assertEquals(32, employe.nbConges(DATE_REFERENCE, regles));
+        Assertions.assertEquals(CalculPaie.nbRtt(Entreprise.calendrier(2021), 32, 0.5), employe.nbRtt(DATE_REFERENCE, regles));
+        Assertions.assertEquals((1200 * 3.3 + 500) * 0.5, employe.primeAnnuelle(DATE_REFERENCE, regles), 0.001);
+        Assertions.assertEquals(30, employe.nbConges(DATE_REFERENCE));
+    }
+
+    @Test
+    public void testPrimeAnnuellePerformanceNull(){
+        //Given
+        Employe employe = new Employe("Doe", "John", "T12345", DATE_REFERENCE, Entreprise.SALAIRE_BASE, null, 1.0);
+
+        //When/Then
+        Assertions.assertEquals(1000.0, employe.primeAnnuelle(DATE_REFERENCE));
+    }
+}
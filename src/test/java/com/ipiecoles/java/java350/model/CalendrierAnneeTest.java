@@ -0,0 +1,72 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+
+public class CalendrierAnneeTest {
+
+    @ParameterizedTest(name="année {0} : {1} jours fériés ouvrés, {2} jours de weekend")
+    @CsvSource({
+            "2019, 10, 104",
+            "2022, 7, 105"
+    })
+    void testDecomptes(int annee, int nbJoursFeriesOuvres, int nbJoursWeekend){
+        //When
+        CalendrierAnnee calendrier = Entreprise.calendrier(annee);
+
+        //Then
+        Assertions.assertEquals(annee, calendrier.getAnnee());
+        Assertions.assertEquals(11, calendrier.getJoursFeries().size());
+        Assertions.assertEquals(nbJoursFeriesOuvres, calendrier.getNbJoursFeriesOuvres());
+        Assertions.assertEquals(nbJoursWeekend, calendrier.getNbJoursWeekend());
+    }
+
+    @ParameterizedTest(name="année {0} : {1} jours fériés ouvrés")
+    @CsvSource({
+            "2021, 7",
+            "2032, 7",
+            "2040, 8",
+            "2044, 8"
+    })
+    void testNbJoursFeriesOuvres(int annee, int nbJoursFeriesOuvres){
+        //When
+        CalendrierAnnee calendrier = Entreprise.calendrier(annee);
+
+        //Then
+        Assertions.assertEquals(nbJoursFeriesOuvres, calendrier.getNbJoursFeriesOuvres());
+    }
+
+    @Test
+    public void testCalendrierEnCache(){
+        //When
+        CalendrierAnnee calendrier = Entreprise.calendrier(2019);
+
+        //Then
+        Assertions.assertSame(calendrier, Entreprise.calendrier(2019));
+        Assertions.assertSame(calendrier.getJoursFeries(), Entreprise.joursFeries(LocalDate.of(2019, 6, 1)));
+    }
+
+    @Test
+    public void testJoursFeriesNonModifiables(){
+        //Given
+        CalendrierAnnee calendrier = Entreprise.calendrier(2019);
+
+        //When/Then
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> calendrier.getJoursFeries().set(0, LocalDate.of(2019, 1, 2)));
+    }
+
+    @Test
+    public void testEstJourFerie(){
+        //Given
+        CalendrierAnnee calendrier = Entreprise.calendrier(2019);
+
+        //When/Then
+        Assertions.assertTrue(calendrier.estJourFerie(LocalDate.of(2019, 4, 22)));
+        Assertions.assertFalse(calendrier.estJourFerie(LocalDate.of(2019, 4, 21)));
+        Assertions.assertFalse(calendrier.estJourFerie(LocalDate.of(2020, 1, 1)));
+    }
+}
@@ -226,4 +226,43 @@ public class EmployeTest {
         Assertions.assertEquals(NbRtt,testNbRtt);
 
     }
+
+    @Test
+    public void testGetNbRttAncienneteALaDateDonnee(){
+        //Given
+        Employe e = new Employe("Doe", "John", "T00001", LocalDate.of(2000, 1, 1), 1500d, 1, 1.0);
+        LocalDate dateReference = LocalDate.of(2001, 6, 1);
+
+        //When
+        int testNbRtt = e.getNbRtt(dateReference);
+
+        //Then
+        Assertions.assertEquals(CalculPaie.nbRtt(Entreprise.calendrier(2001), CalculPaie.nbConges(1), 1.0), testNbRtt);
+        Assertions.assertEquals(e.nbRtt(dateReference), testNbRtt);
+    }
+
+    @Test
+    public void testSetMatricule(){
+        //Given
+        Employe e = new Employe();
+
+        //When
+        e.setMatricule("M00042");
+
+        //Then
+        Assertions.assertEquals("M00042", e.getMatricule());
+        Assertions.assertEquals("M", e.getTypeEmploye());
+        Assertions.assertTrue(Matricule.estDuType(e.getCodeMatricule(), 'M'));
+    }
+
+    @Test
+    public void testSetMatriculeInvalide(){
+        //Given
+        Employe e = new Employe();
+
+        //When/Then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> e.setMatricule("M42"));
+        Assertions.assertNull(e.getMatricule());
+        Assertions.assertEquals(Matricule.INVALIDE, e.getCodeMatricule());
+    }
 }
@@ -0,0 +1,132 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.LocalDate;
+import java.util.Properties;
+
+public class EntrepriseTest {
+
+    //Dates de Pâques de l'ancienne table, puis années qui n'y figuraient pas
+    @ParameterizedTest(name="Pâques {0} : {2}/{1}")
+    @CsvSource({
+            "2019, 4, 21",
+            "2020, 4, 12",
+            "2021, 4, 4",
+            "2022, 4, 17",
+            "2023, 4, 9",
+            "2024, 3, 31",
+            "2025, 4, 20",
+            "2026, 4, 5",
+            "2027, 3, 28",
+            "2028, 4, 16",
+            "2029, 4, 1",
+            "2030, 4, 21",
+            "2031, 4, 13",
+            "2032, 3, 28",
+            "2033, 4, 17",
+            "2034, 4, 9",
+            "2035, 3, 25",
+            "2036, 4, 13",
+            "2037, 4, 5",
+            "2038, 4, 25",
+            "2039, 4, 10",
+            "2040, 4, 1",
+            "2044, 4, 17",
+            "2041, 4, 21",
+            "2042, 4, 6",
+            "2043, 3, 29",
+            "1818, 3, 22",
+            "1943, 4, 25",
+            "2285, 3, 22"
+    })
+    void testDatePaque(int annee, int mois, int jour){
+        //When
+        LocalDate paque = Entreprise.datePaque(annee);
+
+        //Then
+        Assertions.assertEquals(LocalDate.of(annee, mois, jour), paque);
+    }
+
+    @Test
+    public void testJoursFeries2042(){
+        //When
+        CalendrierAnnee calendrier = Entreprise.calendrier(2042);
+
+        //Then
+        Assertions.assertTrue(calendrier.estJourFerie(LocalDate.of(2042, 4, 7)));
+        Assertions.assertTrue(calendrier.estJourFerie(LocalDate.of(2042, 5, 26)));
+    }
+
+    @Test
+    public void testDatePaqueAvantCalendrierGregorien(){
+        //When/Then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Entreprise.datePaque(1500));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "CAP, , 1597.281",
+            "BAC, 1597.281, 1749.403",
+            "BTS_IUT, 1749.403, 1977.586",
+            "LICENCE, 1749.403, 1977.586",
+            "DOCTORAT, 2510.013, "
+    })
+    public void testBandeSalaire(NiveauEtude niveauEtude, Double minimum, Double maximum){
+        //When
+        Double salaireMinimum = Entreprise.salaireMinimumBande(niveauEtude);
+        Double salaireMaximum = Entreprise.salaireMaximumBande(niveauEtude);
+
+        //Then
+        if(minimum == null){
+            Assertions.assertNull(salaireMinimum);
+        } else {
+            Assertions.assertEquals(minimum, salaireMinimum, 0.001);
+        }
+        if(maximum == null){
+            Assertions.assertNull(salaireMaximum);
+        } else {
+            Assertions.assertEquals(maximum, salaireMaximum, 0.001);
+        }
+    }
+
+    @Test
+    public void testCoeffSalaireEtude(){
+        //When/Then
+        Assertions.assertEquals(1.4, Entreprise.coeffSalaireEtude(NiveauEtude.MASTER));
+        Assertions.assertEquals(Double.valueOf(1.4), Entreprise.getCoeffSalaireEtudes().get(NiveauEtude.MASTER));
+    }
+
+    @Test
+    public void testAppliquerRegles(){
+        //Given
+        Properties proprietes = ReglesRemunerationTest.proprietes();
+        proprietes.setProperty("coeffSalaireEtude.MASTER", "1.5");
+        ReglesRemuneration regles = ReglesRemuneration.lire(proprietes);
+
+        try {
+            //When
+            Entreprise.appliquerRegles(regles);
+
+            //Then
+            Assertions.assertSame(regles, Entreprise.regles());
+            Assertions.assertEquals(1.5, Entreprise.coeffSalaireEtude(NiveauEtude.MASTER));
+            Assertions.assertEquals(Entreprise.SALAIRE_BASE * (1.5 + 1.6) / 2, Entreprise.salaireMaximumBande(NiveauEtude.MASTER), 0.001);
+        } finally {
+            Entreprise.appliquerRegles(ReglesRemuneration.DEFAUT);
+        }
+    }
+
+    @Test
+    public void testCalendrierHorsCache(){
+        //When
+        CalendrierAnnee calendrier = Entreprise.calendrier(2250);
+
+        //Then
+        Assertions.assertEquals(2250, calendrier.getAnnee());
+        Assertions.assertTrue(calendrier.estJourFerie(LocalDate.of(2250, 12, 25)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+public class InstantaneEmployesTest {
+
+    private static final LocalDate DATE_REFERENCE = LocalDate.of(2021, 6, 15);
+
+    @Test
+    public void testCoutPrimesParametresActuelsIdentiquePrimeAnnuelle() {
+        //Given : plusieurs blocs, dont le dernier incomplet, et des valeurs non renseignées
+        Random random = new Random(350);
+        InstantaneEmployes instantane = new InstantaneEmployes(10);
+        double coutAttendu = 0;
+        for (int i = 0; i < 3 * InstantaneEmployes.TAILLE_BLOC + 17; i++) {
+            Poste poste = Poste.values()[random.nextInt(Poste.values().length)];
+            Employe employe = new Employe("Doe", "John", poste.name().charAt(0) + String.format("%05d", i % 100000),
+                    i % 50 == 0 ? null : LocalDate.of(1990 + random.nextInt(35), 1 + random.nextInt(12), 1),
+                    Entreprise.SALAIRE_BASE, i % 30 == 0 ? null : 1 + random.nextInt(10), random.nextBoolean() ? 1.0 : 0.5);
+            coutAttendu += employe.primeAnnuelle(DATE_REFERENCE);
+            instantane.ajouter(employe);
+        }
+
+        //When
+        double[] couts = instantane.coutPrimes(new ParametresPrime[]{ParametresPrime.actuels()}, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertEquals(3 * InstantaneEmployes.TAILLE_BLOC + 17, instantane.getNbEmployes());
+        Assertions.assertEquals(coutAttendu, couts[0], 1e-6);
+    }
+
+    @Test
+    public void testCoutPrimesPlusieursScenarios() {
+        //Given
+        InstantaneEmployes instantane = new InstantaneEmployes();
+        //Prime actuelle : 1000 + 2 * 100 = 1200
+        instantane.ajouter(new Employe("Doe", "John", "T00001", LocalDate.of(2019, 1, 1), Entreprise.SALAIRE_BASE, 1, 1.0));
+        //Prime actuelle : (1000 * 1.7 + 0) * 0.5 = 850
+        instantane.ajouter(new Employe("Doe", "Jane", "M00001", LocalDate.of(2021, 1, 1), 2500d, 1, 0.5));
+        //Prime actuelle : 1000 * (3 + 0.3) + 100 = 3400
+        instantane.ajouter(new Employe("Doe", "Jim", "C00001", LocalDate.of(2020, 3, 1), 2000d, 3, 1.0));
+        //Employé sans poste, sans temps partiel renseigné : 1000 * (2 + 0.3) = 2300
+        instantane.ajouter(new Employe("Doe", "Jack", "X00001", null, 2000d, 2, null));
+        ParametresPrime[] scenarios = {
+                ParametresPrime.actuels(),
+                new ParametresPrime(1000d, 0.3, 2.0, 100d),
+                new ParametresPrime(1100d, 0.5, 1.7, 0d)
+        };
+
+        //When
+        double[] couts = instantane.coutPrimes(scenarios, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertEquals(1200 + 850 + 3400 + 2300, couts[0], 1e-9);
+        Assertions.assertEquals(1200 + 1000 + 3400 + 2300, couts[1], 1e-9);
+        Assertions.assertEquals(1100 + 1100 * 1.7 * 0.5 + 1100 * 3.5 + 1100 * 2.5, couts[2], 1e-9);
+    }
+
+    @Test
+    public void testCoutPrimesInstantaneVide() {
+        //When
+        double[] couts = new InstantaneEmployes().coutPrimes(new ParametresPrime[]{ParametresPrime.actuels()}, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertArrayEquals(new double[]{0d}, couts);
+    }
+}
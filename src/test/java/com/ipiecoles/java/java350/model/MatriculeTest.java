@@ -0,0 +1,128 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class MatriculeTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"C00042", "M00000", "T99999", "X12345"})
+    public void testEncoderFormater(String texte) {
+        //When
+        Matricule matricule = Matricule.valueOf(texte);
+
+        //Then
+        Assertions.assertEquals(texte, matricule.toString());
+        Assertions.assertEquals(texte.charAt(0), matricule.getLettre());
+        Assertions.assertEquals(Integer.parseInt(texte.substring(1)), matricule.getNumero());
+        Assertions.assertEquals(matricule.getCode(), Matricule.encoder(texte));
+        Assertions.assertEquals(matricule, Matricule.deCode(matricule.getCode()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "C", "C0042", "C000420", "c00042", "C0004a", "100042", "C-0042"})
+    public void testEncoderInvalide(String texte) {
+        //When/Then
+        Assertions.assertEquals(Matricule.INVALIDE, Matricule.encoder(texte));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Matricule.valueOf(texte));
+    }
+
+    @Test
+    public void testEncoderNull() {
+        //When/Then
+        Assertions.assertEquals(Matricule.INVALIDE, Matricule.encoder(null));
+        Assertions.assertEquals(-1, Matricule.ordinalPoste(Matricule.INVALIDE));
+        Assertions.assertFalse(Matricule.estDuType(Matricule.INVALIDE, 'M'));
+    }
+
+    @Test
+    public void testTypeEtPoste() {
+        //Given
+        int manager = Matricule.encoder("M00001");
+        int commercial = Matricule.encoder("C00001");
+
+        //Then
+        Assertions.assertTrue(Matricule.estDuType(manager, 'M'));
+        Assertions.assertFalse(Matricule.estDuType(manager, 'C'));
+        Assertions.assertTrue(Matricule.estDuType(commercial, 'C'));
+        Assertions.assertEquals(Poste.MANAGER.ordinal(), Matricule.ordinalPoste(manager));
+        Assertions.assertEquals(Poste.COMMERCIAL, Matricule.valueOf("C00001").getPoste());
+        Assertions.assertNull(Matricule.valueOf("X00001").getPoste());
+        Assertions.assertEquals("T00042", Matricule.de(Poste.TECHNICIEN, 42).toString());
+    }
+
+    @Test
+    public void testTypeEmploye() {
+        //When/Then
+        for (Poste poste : Poste.values()) {
+            Assertions.assertEquals(poste, Matricule.posteDuType(Matricule.typeEmploye(poste)));
+            Assertions.assertEquals(poste.ordinal(), Matricule.ordinalPosteDuType(Matricule.lettre(poste)));
+        }
+        Assertions.assertEquals("C", Matricule.typeEmploye(Poste.COMMERCIAL));
+        Assertions.assertEquals(Poste.MANAGER, Matricule.posteDuType("M00001"));
+        Assertions.assertNull(Matricule.posteDuType("X"));
+        Assertions.assertNull(Matricule.posteDuType("c"));
+        Assertions.assertNull(Matricule.posteDuType(""));
+        Assertions.assertNull(Matricule.posteDuType(null));
+        Assertions.assertEquals(-1, Matricule.ordinalPosteDuType('%'));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"C00042, C00043", "C99999, M00000", "M12345, T00000", "A99999, B00000"})
+    public void testOrdreDesCodesOrdreDuTexte(String avant, String apres) {
+        //When/Then
+        Assertions.assertTrue(avant.compareTo(apres) < 0);
+        Assertions.assertTrue(Matricule.valueOf(avant).compareTo(Matricule.valueOf(apres)) < 0);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "C, C00000, C99999",
+            "C001, C00100, C00199",
+            "T12345, T12345, T12345",
+            "M9, M90000, M99999"
+    })
+    public void testCodesAvecPrefixe(String prefixe, String premier, String dernier) {
+        //When/Then
+        Assertions.assertEquals(Matricule.encoder(premier), Matricule.premierCodeAvecPrefixe(prefixe));
+        Assertions.assertEquals(Matricule.encoder(dernier), Matricule.dernierCodeAvecPrefixe(prefixe));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "c", "C%", "C00a", "C000001"})
+    public void testCodesAvecPrefixeInvalide(String prefixe) {
+        //When/Then
+        Assertions.assertEquals(Matricule.INVALIDE, Matricule.premierCodeAvecPrefixe(prefixe));
+    }
+
+    @Test
+    public void testConverter() {
+        //Given
+        MatriculeConverter converter = new MatriculeConverter();
+
+        //When/Then
+        Assertions.assertEquals("C00042", converter.convertToDatabaseColumn(Matricule.valueOf("C00042")));
+        Assertions.assertEquals(Matricule.valueOf("C00042"), converter.convertToEntityAttribute("C00042"));
+        Assertions.assertNull(converter.convertToDatabaseColumn(null));
+        Assertions.assertNull(converter.convertToEntityAttribute(null));
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToEntityAttribute("c42"));
+        Assertions.assertTrue(e.getMessage().contains("'c42'"));
+    }
+
+    @Test
+    public void testToStringSansAllocationRepetee() {
+        //Given
+        String texte = "C00042";
+        Matricule lu = Matricule.valueOf(texte);
+        Matricule calcule = Matricule.deCode(lu.getCode());
+
+        //When/Then
+        Assertions.assertSame(texte, lu.toString());
+        Assertions.assertEquals(texte, calcule.toString());
+        Assertions.assertSame(calcule.toString(), calcule.toString());
+    }
+}
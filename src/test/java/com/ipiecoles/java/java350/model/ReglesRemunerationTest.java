@@ -0,0 +1,95 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Properties;
+
+public class ReglesRemunerationTest {
+
+    /**
+     * @return les propriétés des règles par défaut, en version 2020-01
+     */
+    static Properties proprietes() {
+        Properties proprietes = new Properties();
+        proprietes.setProperty("version", "2020-01");
+        proprietes.setProperty("salaireBase", "1521.22");
+        proprietes.setProperty("coeffSalaireEtude.CAP", "1.0");
+        proprietes.setProperty("coeffSalaireEtude.BAC", "1.1");
+        proprietes.setProperty("coeffSalaireEtude.BTS_IUT", "1.2");
+        proprietes.setProperty("coeffSalaireEtude.LICENCE", "1.2");
+        proprietes.setProperty("coeffSalaireEtude.MASTER", "1.4");
+        proprietes.setProperty("coeffSalaireEtude.INGENIEUR", "1.6");
+        proprietes.setProperty("coeffSalaireEtude.DOCTORAT", "1.7");
+        proprietes.setProperty("nbCongesBase", "25");
+        proprietes.setProperty("nbJoursMaxForfait", "218");
+        proprietes.setProperty("primeBase", "1000");
+        proprietes.setProperty("indicePrimeBase", "0.3");
+        proprietes.setProperty("indicePrimeManager", "1.7");
+        proprietes.setProperty("primeAnciennete", "100");
+        return proprietes;
+    }
+
+    @Test
+    public void testLire(){
+        //Given
+        Properties proprietes = proprietes();
+        proprietes.setProperty("coeffSalaireEtude.MASTER", "1.5");
+        proprietes.setProperty("nbCongesBase", "27");
+
+        //When
+        ReglesRemuneration regles = ReglesRemuneration.lire(proprietes);
+
+        //Then
+        Assertions.assertEquals("2020-01", regles.getVersion());
+        Assertions.assertEquals(1.5, regles.coeffSalaireEtude(NiveauEtude.MASTER));
+        Assertions.assertEquals(27, regles.getNbCongesBase());
+        Assertions.assertEquals(1521.22 * (1.5 + 1.6) / 2, regles.salaireMaximumBande(NiveauEtude.MASTER), 0.001);
+    }
+
+    @Test
+    public void testLireReglesParDefaut(){
+        //When
+        ReglesRemuneration regles = ReglesRemuneration.lire(proprietes());
+
+        //Then
+        Assertions.assertEquals(ReglesRemuneration.DEFAUT.getCoeffSalaireEtudes(), regles.getCoeffSalaireEtudes());
+        Assertions.assertEquals(ReglesRemuneration.DEFAUT.getSalaireBase(), regles.getSalaireBase());
+        Assertions.assertEquals(ReglesRemuneration.DEFAUT.getNbJoursMaxForfait(), regles.getNbJoursMaxForfait());
+        Assertions.assertEquals(ReglesRemuneration.DEFAUT.getPrimeBase(), regles.getPrimeBase());
+        Assertions.assertEquals(ReglesRemuneration.DEFAUT.getIndicePrimeManager(), regles.getIndicePrimeManager());
+    }
+
+    @ParameterizedTest(name="{0}={1}")
+    @CsvSource({
+            "version, ''",
+            "salaireBase, 0",
+            "coeffSalaireEtude.CAP, -1",
+            "nbCongesBase, 25.5",
+            "primeBase, abc",
+            "primeAnciennete, NaN",
+            "coeffSalaireEtude.BEP, 1.0",
+            "primeAnnuelle, 1000"
+    })
+    void testLireRegleInvalide(String nom, String valeur){
+        //Given
+        Properties proprietes = proprietes();
+        proprietes.setProperty(nom, valeur);
+
+        //When/Then
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReglesRemuneration.lire(proprietes));
+    }
+
+    @Test
+    public void testLireRegleManquante(){
+        //Given
+        Properties proprietes = proprietes();
+        proprietes.remove("coeffSalaireEtude.DOCTORAT");
+
+        //When/Then
+        IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, () -> ReglesRemuneration.lire(proprietes));
+        Assertions.assertEquals("Règle de rémunération manquante : coeffSalaireEtude.DOCTORAT", e.getMessage());
+    }
+}
@@ -0,0 +1,84 @@
+package com.ipiecoles.java.java350.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+public class StockEmployesTest {
+
+    private static final LocalDate DATE_REFERENCE = LocalDate.of(2021, 6, 15);
+
+    @Test
+    public void testAjouterRelireEnregistrement() {
+        //Given
+        StockEmployes stock = new StockEmployes(1);
+        Employe employe = new Employe("Doe", "Jane", "M00042", LocalDate.of(2018, 3, 12), 2500.5, 3, 0.8);
+
+        //When
+        stock.ajouter(employe);
+
+        //Then
+        int emplacement = stock.emplacement("M00042");
+        Assertions.assertEquals(0, emplacement);
+        Assertions.assertEquals(2500.5, stock.getSalaire(emplacement));
+        Assertions.assertEquals(0.8, stock.getTempsPartiel(emplacement));
+        Assertions.assertEquals(LocalDate.of(2018, 3, 12), LocalDate.ofEpochDay(stock.getJourEmbauche(emplacement)));
+        Assertions.assertEquals(3, stock.getPerformance(emplacement));
+        Assertions.assertEquals(Poste.MANAGER.ordinal(), stock.getType(emplacement));
+        Assertions.assertEquals(employe.nombreAnneeAnciennete(DATE_REFERENCE), stock.nombreAnneeAnciennete(emplacement, DATE_REFERENCE));
+        Assertions.assertEquals(employe.nbConges(DATE_REFERENCE), stock.nbConges(emplacement, DATE_REFERENCE));
+        Assertions.assertEquals(employe.nbRtt(DATE_REFERENCE), stock.nbRtt(emplacement, Entreprise.calendrier(2021), DATE_REFERENCE));
+        Assertions.assertEquals(employe.primeAnnuelle(DATE_REFERENCE), stock.primeAnnuelle(emplacement, DATE_REFERENCE));
+    }
+
+    @Test
+    public void testAjouterValeursNonRenseignees() {
+        //Given
+        StockEmployes stock = new StockEmployes(1);
+        Employe employe = new Employe("Doe", "John", "X00001", null, null, null, 1.0);
+
+        //When
+        stock.ajouter(employe);
+
+        //Then
+        Assertions.assertEquals(-1, stock.emplacement("X00001"));
+        Assertions.assertTrue(Double.isNaN(stock.getSalaire(0)));
+        Assertions.assertEquals(StockEmployes.VALEUR_ABSENTE, stock.getJourEmbauche(0));
+        Assertions.assertEquals(StockEmployes.VALEUR_ABSENTE, stock.getPerformance(0));
+        Assertions.assertEquals(StockEmployes.TYPE_INCONNU, stock.getType(0));
+        Assertions.assertEquals(0, stock.nombreAnneeAnciennete(0, DATE_REFERENCE));
+        Assertions.assertEquals(employe.primeAnnuelle(DATE_REFERENCE), stock.primeAnnuelle(0, DATE_REFERENCE));
+    }
+
+    @Test
+    public void testAjouterAgranditLeStock() {
+        //Given
+        StockEmployes stock = new StockEmployes(0);
+
+        //When
+        for (int i = 0; i < 1000; i++) {
+            stock.ajouter(new Employe("Doe", "John", String.format("T%05d", i), LocalDate.of(2000, 1, 1), 1000d + i, 1, 1.0));
+        }
+
+        //Then
+        Assertions.assertEquals(1000, stock.getNbEmployes());
+        for (int i = 0; i < 1000; i++) {
+            int emplacement = stock.emplacement(String.format("T%05d", i));
+            Assertions.assertEquals(i, emplacement);
+            Assertions.assertEquals(1000d + i, stock.getSalaire(emplacement));
+        }
+        Assertions.assertEquals(-1, stock.emplacement("C00001"));
+        Assertions.assertEquals(-1, stock.emplacement("T0000a"));
+        Assertions.assertEquals(-1, stock.emplacement(null));
+    }
+
+    @Test
+    public void testEmplacementHorsDuStock() {
+        //Given
+        StockEmployes stock = new StockEmployes(10);
+
+        //When/Then
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> stock.getSalaire(0));
+    }
+}
@@ -1,12 +1,27 @@
 package com.ipiecoles.java.java350.repository;
 
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.CritereRecherche;
+import com.ipiecoles.java.java350.model.EffectifPerformance;
 import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.EmployeResume;
 import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.MasseSalarialeType;
+import com.ipiecoles.java.java350.model.Matricule;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import com.ipiecoles.java.java350.model.SalaireMoyenAnnee;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @DataJpaTest
 public class EmployeRepositoryTest {
@@ -14,6 +29,9 @@ public class EmployeRepositoryTest {
     @Autowired
     private EmployeRepository employeRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @BeforeEach
     @AfterEach
     public void setup(){
@@ -57,6 +75,22 @@ public class EmployeRepositoryTest {
         Assertions.assertEquals("40325", lastMatricule);
     }
 
+    @Test
+    public void testFindLastMatriculeWhereMatriculeStartsWith(){
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "M40325", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jim", "T06432", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+
+        //When
+        String lastMatriculeTechnicien = employeRepository.findLastMatriculeWhereMatriculeStartsWith("T");
+        String lastMatriculeCommercial = employeRepository.findLastMatriculeWhereMatriculeStartsWith("C");
+
+        //Then
+        Assertions.assertEquals("12345", lastMatriculeTechnicien);
+        Assertions.assertNull(lastMatriculeCommercial);
+    }
+
     @Test
     public void testavgPerformanceWhereMatriculeStartsWith() {
         // Given
@@ -70,4 +104,267 @@ public class EmployeRepositoryTest {
         // Then
         Assertions.assertEquals(new Double(8), avgPerformance);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSumAndCountPerformanceGroupByPremiereLettreMatricule() {
+        // Given
+        employeRepository.save(new Employe("Doe","John","C12345",LocalDate.now(),Entreprise.SALAIRE_BASE,10,1.0));
+        employeRepository.save(new Employe("Doe","John","C67890",LocalDate.now(),Entreprise.SALAIRE_BASE,8,1.0));
+        employeRepository.save(new Employe("Doe","John","M01234",LocalDate.now(),Entreprise.SALAIRE_BASE,6,1.0));
+
+        // When
+        List<Object[]> sommes = employeRepository.sumAndCountPerformanceGroupByPremiereLettreMatricule();
+
+        // Then
+        Assertions.assertEquals(2, sommes.size());
+        for (Object[] ligne : sommes) {
+            if("C".equals(ligne[0])){
+                Assertions.assertEquals(18L, ((Number) ligne[1]).longValue());
+                Assertions.assertEquals(2L, ((Number) ligne[2]).longValue());
+            } else {
+                Assertions.assertEquals("M", ligne[0]);
+                Assertions.assertEquals(6L, ((Number) ligne[1]).longValue());
+                Assertions.assertEquals(1L, ((Number) ligne[2]).longValue());
+            }
+        }
+    }
+
+    @Test
+    public void testSaveTypeEmploye() {
+        // Given
+        Employe employe = employeRepository.save(new Employe("Doe","John","C12345",LocalDate.now(),Entreprise.SALAIRE_BASE,1,1.0));
+
+        // When
+        employe.setMatricule("M12345");
+        employeRepository.saveAndFlush(employe);
+
+        // Then
+        Assertions.assertEquals("M", employe.getTypeEmploye());
+        Assertions.assertEquals("12345", employeRepository.findLastMatriculeWhereMatriculeStartsWith("M"));
+        Assertions.assertNull(employeRepository.findLastMatriculeWhereMatriculeStartsWith("C"));
+    }
+
+    @Test
+    public void testSaveMatriculeEnDouble() {
+        // Given
+        employeRepository.saveAndFlush(new Employe("Doe","John","C12345",LocalDate.now(),Entreprise.SALAIRE_BASE,1,1.0));
+
+        // When/Then
+        Assertions.assertThrows(DataIntegrityViolationException.class, () ->
+                employeRepository.saveAndFlush(new Employe("Doe","Jane","C12345",LocalDate.now(),Entreprise.SALAIRE_BASE,1,1.0)));
+    }
+
+    private List<Employe> employesAugmentation() {
+        List<Employe> employes = new ArrayList<>();
+        employes.add(new Employe("Doe","John","T00001",LocalDate.now(),1521.22,1,1.0));
+        employes.add(new Employe("Doe","Jane","T00002",LocalDate.now(),1825.46,3,1.0));
+        employes.add(new Employe("Doe","Jim","C00001",LocalDate.now(),912.73,5,0.5));
+        employes.add(new Employe("Doe","Jack","C00002",LocalDate.now(),2129.71,null,1.0));
+        employes.add(new Employe("Doe","Joe","M00001",LocalDate.now(),2586.07,2,null));
+        employes.add(new Employe("Doe","Jil","M00002",LocalDate.now(),null,4,1.0));
+        employes.add(new Employe("Doe","Jon","C00003",LocalDate.now(),1673.34,1,0.8));
+        return employes;
+    }
+
+    @Test
+    public void testAugmenterSalairesIdentiqueAugmenterSalaire() throws EmployeException {
+        CritereAugmentation[] criteres = {
+                CritereAugmentation.tous(),
+                new CritereAugmentation(Poste.COMMERCIAL, null, null),
+                new CritereAugmentation(null, NiveauEtude.CAP, null),
+                new CritereAugmentation(null, NiveauEtude.LICENCE, null),
+                new CritereAugmentation(null, NiveauEtude.DOCTORAT, null),
+                new CritereAugmentation(null, null, 3),
+                new CritereAugmentation(Poste.COMMERCIAL, NiveauEtude.MASTER, 2)
+        };
+        for (CritereAugmentation critere : criteres) {
+            // Given
+            employeRepository.deleteAll();
+            employeRepository.flush();
+            List<Employe> attendus = employesAugmentation();
+            employeRepository.saveAll(employesAugmentation());
+            int nbAttendus = 0;
+            for (Employe employe : attendus) {
+                if(critere.concerne(employe, ReglesRemuneration.DEFAUT)){
+                    employe.augmenterSalaire(0.0325);
+                    nbAttendus++;
+                }
+            }
+
+            // When
+            int nbEmployes = employeRepository.augmenterSalaires(0.0325, critere, ReglesRemuneration.DEFAUT);
+
+            // Then
+            Assertions.assertEquals(nbAttendus, nbEmployes);
+            for (Employe attendu : attendus) {
+                Assertions.assertEquals(attendu.getSalaire(), employeRepository.findByMatricule(attendu.getMatricule()).getSalaire(), attendu.getMatricule());
+            }
+        }
+    }
+
+    @Test
+    public void testAugmenterSalairesIncrementeVersion() {
+        // Given
+        Employe employe = employeRepository.saveAndFlush(new Employe("Doe","John","T00001",LocalDate.now(),1521.22,1,1.0));
+        Long version = employe.getVersion();
+
+        // When
+        employeRepository.augmenterSalaires(0.03, CritereAugmentation.tous(), ReglesRemuneration.DEFAUT);
+
+        // Then
+        employe = employeRepository.findByMatricule("T00001");
+        Assertions.assertEquals(1567d, employe.getSalaire().doubleValue());
+        Assertions.assertEquals(version + 1, employe.getVersion().longValue());
+    }
+
+    @Test
+    public void testFindPageApresMatriculeParcoursToutesLesPages() {
+        // Given
+        List<Employe> employes = new ArrayList<>();
+        for (int i = 25; i >= 1; i--) {
+            employes.add(new Employe("Doe", "John" + i, String.format("T%05d", i), LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        }
+        employeRepository.saveAll(employes);
+
+        // When
+        List<String> matricules = new ArrayList<>();
+        List<EmployeResume> page = employeRepository.findPageApresMatricule(CritereRecherche.tous(), null, 10);
+        int nbPages = 0;
+        while (!page.isEmpty()) {
+            nbPages++;
+            page.forEach(employe -> matricules.add(employe.getMatricule()));
+            page = employeRepository.findPageApresMatricule(CritereRecherche.tous(), page.get(page.size() - 1).getMatricule(), 10);
+        }
+
+        // Then
+        Assertions.assertEquals(3, nbPages);
+        Assertions.assertEquals(25, matricules.size());
+        Assertions.assertEquals("T00001", matricules.get(0));
+        Assertions.assertEquals("T00025", matricules.get(24));
+        for (int i = 1; i < matricules.size(); i++) {
+            Assertions.assertTrue(matricules.get(i - 1).compareTo(matricules.get(i)) < 0);
+        }
+    }
+
+    @Test
+    public void testFindPageApresMatriculeFiltres() {
+        // Given
+        employeRepository.save(new Employe("Doe", "John", "C00001", LocalDate.of(2015, 3, 1), 1521.22, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "C00002", LocalDate.of(2017, 6, 15), 1825.46, 3, 1.0));
+        employeRepository.save(new Employe("Doe", "Jim", "C00010", LocalDate.of(2018, 1, 1), 2129.71, 5, 0.5));
+        employeRepository.save(new Employe("Doe", "Jack", "T00002", LocalDate.of(2017, 6, 15), 1825.46, 3, 1.0));
+        employeRepository.save(new Employe("Doe", "Joe", "M00003", LocalDate.of(2016, 1, 1), 2586.07, 4, 1.0));
+
+        // When
+        List<EmployeResume> commerciaux = employeRepository.findPageApresMatricule(
+                new CritereRecherche("C", LocalDate.of(2016, 1, 1), LocalDate.of(2018, 1, 1), 2), null, 10);
+        List<EmployeResume> prefixe = employeRepository.findPageApresMatricule(
+                new CritereRecherche("C0000", null, null, null), "C00001", 10);
+        List<EmployeResume> jokers = employeRepository.findPageApresMatricule(
+                new CritereRecherche("C%", null, null, null), null, 10);
+        List<EmployeResume> echappement = employeRepository.findPageApresMatricule(
+                new CritereRecherche("C\\", null, null, null), null, 10);
+
+        // Then
+        Assertions.assertEquals(2, commerciaux.size());
+        Assertions.assertEquals("C00002", commerciaux.get(0).getMatricule());
+        Assertions.assertEquals("Jane", commerciaux.get(0).getPrenom());
+        Assertions.assertEquals(LocalDate.of(2017, 6, 15), commerciaux.get(0).getDateEmbauche());
+        Assertions.assertEquals(1825.46, commerciaux.get(0).getSalaire().doubleValue());
+        Assertions.assertEquals(3, commerciaux.get(0).getPerformance().intValue());
+        Assertions.assertEquals("C00010", commerciaux.get(1).getMatricule());
+        Assertions.assertEquals(0.5, commerciaux.get(1).getTempsPartiel().doubleValue());
+        Assertions.assertEquals(1, prefixe.size());
+        Assertions.assertEquals("C00002", prefixe.get(0).getMatricule());
+        Assertions.assertTrue(jokers.isEmpty());
+        Assertions.assertTrue(echappement.isEmpty());
+    }
+
+    private void employesAgregats() {
+        employeRepository.save(new Employe("Doe", "John", "C00001", LocalDate.of(2015, 3, 1), 1500.0, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "C00002", LocalDate.of(2017, 6, 15), 2000.0, 3, 1.0));
+        employeRepository.save(new Employe("Doe", "Jim", "C00003", LocalDate.of(2017, 9, 1), null, 3, 1.0));
+        employeRepository.save(new Employe("Doe", "Jack", "T00001", LocalDate.of(2015, 6, 15), 1800.0, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Joe", "M00001", null, 3000.0, null, 1.0));
+    }
+
+    @Test
+    public void testFindMasseSalarialeParType() {
+        // Given
+        employesAgregats();
+
+        // When
+        List<MasseSalarialeType> masses = employeRepository.findMasseSalarialeParType();
+
+        // Then
+        Assertions.assertEquals(3, masses.size());
+        Assertions.assertEquals("C", masses.get(0).getTypeEmploye());
+        Assertions.assertEquals(Poste.COMMERCIAL, masses.get(0).getPoste());
+        Assertions.assertEquals(3500.0, masses.get(0).getMasseSalariale().doubleValue());
+        Assertions.assertEquals(3, masses.get(0).getNbEmployes().longValue());
+        Assertions.assertEquals(Poste.MANAGER, masses.get(1).getPoste());
+        Assertions.assertEquals(3000.0, masses.get(1).getMasseSalariale().doubleValue());
+        Assertions.assertEquals(Poste.TECHNICIEN, masses.get(2).getPoste());
+        Assertions.assertEquals(1, masses.get(2).getNbEmployes().longValue());
+    }
+
+    @Test
+    public void testFindSalaireMoyenParAnneeEmbauche() {
+        // Given
+        employesAgregats();
+
+        // When
+        List<SalaireMoyenAnnee> salaires = employeRepository.findSalaireMoyenParAnneeEmbauche();
+
+        // Then
+        Assertions.assertEquals(2, salaires.size());
+        Assertions.assertEquals(2015, salaires.get(0).getAnnee().intValue());
+        Assertions.assertEquals(1650.0, salaires.get(0).getSalaireMoyen().doubleValue());
+        Assertions.assertEquals(2, salaires.get(0).getNbEmployes().longValue());
+        Assertions.assertEquals(2017, salaires.get(1).getAnnee().intValue());
+        //Le salaire null n'entre pas dans la moyenne, mais l'employé est compté
+        Assertions.assertEquals(2000.0, salaires.get(1).getSalaireMoyen().doubleValue());
+        Assertions.assertEquals(2, salaires.get(1).getNbEmployes().longValue());
+    }
+
+    @Test
+    public void testFindEffectifParPerformance() {
+        // Given
+        employesAgregats();
+
+        // When
+        List<EffectifPerformance> effectifs = employeRepository.findEffectifParPerformance();
+
+        // Then
+        Assertions.assertEquals(3, effectifs.size());
+        long nbEmployes = 0;
+        for (EffectifPerformance effectif : effectifs) {
+            nbEmployes += effectif.getNbEmployes();
+            if(effectif.getPerformance() == null){
+                Assertions.assertEquals(1, effectif.getNbEmployes().longValue());
+            } else if(effectif.getPerformance() == 1 || effectif.getPerformance() == 3){
+                Assertions.assertEquals(2, effectif.getNbEmployes().longValue());
+            } else {
+                Assertions.fail("Performance inattendue : " + effectif.getPerformance());
+            }
+        }
+        Assertions.assertEquals(5, nbEmployes);
+    }
+
+    @Test
+    public void testSaveMatriculeStockeEnTexte() {
+        // Given
+        employeRepository.saveAndFlush(new Employe("Doe", "John", "C00042", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        entityManager.clear();
+
+        // When
+        Object matricule = entityManager.getEntityManager().createNativeQuery("select matricule from employe").getSingleResult();
+        Employe employe = employeRepository.findByMatricule("C00042");
+
+        // Then
+        Assertions.assertEquals("C00042", matricule);
+        Assertions.assertEquals("C00042", employe.getMatricule());
+        Assertions.assertEquals(Matricule.encoder("C00042"), employe.getCodeMatricule());
+        Assertions.assertNull(employeRepository.findByMatricule("C42"));
+    }
+}
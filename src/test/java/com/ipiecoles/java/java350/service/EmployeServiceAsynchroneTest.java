@@ -0,0 +1,103 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.Poste;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeServiceAsynchroneTest {
+
+    @Mock
+    EmployeService employeService;
+
+    private EmployeServiceAsynchrone employeServiceAsynchrone;
+
+    @AfterEach
+    public void tearDown() {
+        employeServiceAsynchrone.arreter();
+    }
+
+    @Test
+    public void testEmbaucheEmploye() throws Exception {
+        //Given
+        employeServiceAsynchrone = new EmployeServiceAsynchrone(employeService, 2, 10);
+
+        //When
+        employeServiceAsynchrone.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0).get(5, TimeUnit.SECONDS);
+
+        //Then
+        verify(employeService).embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+    }
+
+    @Test
+    public void testCalculPerformanceCommercialEmployeException() throws EmployeException {
+        //Given
+        employeServiceAsynchrone = new EmployeServiceAsynchrone(employeService, 2, 10);
+        EmployeException erreur = new EmployeException("Le matricule ne peut être null et doit commencer par un C !");
+        doThrow(erreur).when(employeService).calculPerformanceCommercial(null, 100L, 100L);
+
+        //When
+        CompletableFuture<Void> resultat = employeServiceAsynchrone.calculPerformanceCommercial(null, 100L, 100L);
+
+        //Then
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> resultat.get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(erreur, e.getCause());
+    }
+
+    @Test
+    public void testEmbaucheEmployeError() throws EmployeException {
+        //Given
+        employeServiceAsynchrone = new EmployeServiceAsynchrone(employeService, 2, 10);
+        OutOfMemoryError erreur = new OutOfMemoryError("Java heap space");
+        doThrow(erreur).when(employeService).embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+
+        //When
+        CompletableFuture<Void> resultat = employeServiceAsynchrone.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.MASTER, 1.0);
+
+        //Then
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> resultat.get(5, TimeUnit.SECONDS));
+        Assertions.assertSame(erreur, e.getCause());
+    }
+
+    @Test
+    public void testDemandeRefuseeFilePleine() throws Exception {
+        //Given un seul thread, occupé, et une file d'une demande déjà remplie
+        employeServiceAsynchrone = new EmployeServiceAsynchrone(employeService, 1, 1);
+        CountDownLatch enCours = new CountDownLatch(1);
+        CountDownLatch liberation = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            enCours.countDown();
+            liberation.await();
+            return null;
+        }).when(employeService).calculPerformanceCommercial(anyString(), anyLong(), anyLong());
+        CompletableFuture<Void> premiere = employeServiceAsynchrone.calculPerformanceCommercial("C00001", 100L, 100L);
+        enCours.await();
+        CompletableFuture<Void> deuxieme = employeServiceAsynchrone.calculPerformanceCommercial("C00002", 100L, 100L);
+
+        //When
+        CompletableFuture<Void> troisieme = employeServiceAsynchrone.calculPerformanceCommercial("C00003", 100L, 100L);
+
+        //Then
+        Assertions.assertEquals(1, employeServiceAsynchrone.getNbDemandesEnAttente());
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, troisieme::get);
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        liberation.countDown();
+        premiere.get(5, TimeUnit.SECONDS);
+        deuxieme.get(5, TimeUnit.SECONDS);
+        verify(employeService, never()).calculPerformanceCommercial("C00003", 100L, 100L);
+    }
+}
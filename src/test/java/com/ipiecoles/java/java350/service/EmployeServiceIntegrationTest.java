@@ -4,6 +4,9 @@ package com.ipiecoles.java.java350.service;
 import com.ipiecoles.java.java350.exception.EmployeException;
 import com.ipiecoles.java.java350.model.*;
 import com.ipiecoles.java.java350.repository.EmployeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +20,16 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManagerFactory;
 
 import static com.ipiecoles.java.java350.model.Entreprise.PERFORMANCE_BASE;
 import static org.mockito.Mockito.verify;
@@ -33,6 +45,18 @@ public class EmployeServiceIntegrationTest {
     @Autowired
     private EmployeRepository employeRepository;
 
+    @Autowired
+    private MatriculeService matriculeService;
+
+    @Autowired
+    private PerformanceMoyenneService performanceMoyenneService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     @AfterEach
     public void setup(){
@@ -43,6 +67,7 @@ public class EmployeServiceIntegrationTest {
     public void integrationEmbaucheEmploye() throws EmployeException {
         //Given
         employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        matriculeService.initialiser();
         String nom = "Doe";
         String prenom = "John";
         Poste poste = Poste.TECHNICIEN;
@@ -65,6 +90,99 @@ public class EmployeServiceIntegrationTest {
         Assertions.assertEquals(1825.46, employe.getSalaire().doubleValue());
     }
 
+    @Test
+    public void integrationEmbaucheEmployeMatriculeInsereHorsApplication() throws EmployeException {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        matriculeService.initialiser();
+        employeRepository.save(new Employe("Doe", "Jane", "T12346", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+
+        //When
+        employeService.embaucheEmploye("Doe", "Jim", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0);
+
+        //Then
+        Assertions.assertEquals(3, employeRepository.count());
+        Assertions.assertEquals("Jane", employeRepository.findByMatricule("T12346").getPrenom());
+        Employe employe = employeRepository.findByMatricule("T12347");
+        Assertions.assertNotNull(employe);
+        Assertions.assertEquals("Jim", employe.getPrenom());
+    }
+
+    @Test
+    public void integrationEmbaucheEmployes() throws EmployeException {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        matriculeService.initialiser();
+        List<DemandeEmbauche> demandes = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            demandes.add(new DemandeEmbauche("Doe", "John" + i, i % 2 == 0 ? Poste.TECHNICIEN : Poste.MANAGER, NiveauEtude.BTS_IUT, 1.0));
+        }
+
+        //When
+        List<String> matricules = employeService.embaucheEmployes(demandes);
+
+        //Then
+        Assertions.assertEquals(121, employeRepository.count());
+        Assertions.assertEquals("T12346", matricules.get(0));
+        Assertions.assertEquals("M00001", matricules.get(1));
+        Employe employe = employeRepository.findByMatricule("M00060");
+        Assertions.assertNotNull(employe);
+        Assertions.assertEquals("John119", employe.getPrenom());
+        Assertions.assertEquals(1825.46, employe.getSalaire().doubleValue());
+    }
+
+    @Test
+    public void integrationCalculPerformanceCommerciaux() throws EmployeException {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 4, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "C00002", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jim", "C00003", LocalDate.now(), Entreprise.SALAIRE_BASE, 2, 1.0));
+        Map<String, ResultatCommercial> resultats = new LinkedHashMap<>();
+        resultats.put("C00001", new ResultatCommercial(160000L, 120000L));
+        resultats.put("C00003", new ResultatCommercial(120000L, 120000L));
+
+        //When
+        employeService.calculPerformanceCommerciaux(resultats);
+
+        //Then
+        //Moyenne initiale de 7/3 : C00001 passe à 4 + 4 + 1 = 9, C00003 reste à 2 car 2 < 7/3
+        Assertions.assertEquals(9, employeRepository.findByMatricule("C00001").getPerformance().intValue());
+        Assertions.assertEquals(1, employeRepository.findByMatricule("C00002").getPerformance().intValue());
+        Assertions.assertEquals(2, employeRepository.findByMatricule("C00003").getPerformance().intValue());
+    }
+
+    @Test
+    public void integrationPerformanceMoyenneTenueAJour() {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "C12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 10, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "C67890", LocalDate.now(), Entreprise.SALAIRE_BASE, 8, 1.0));
+        Employe employe = employeRepository.save(new Employe("Doe", "Jim", "C01234", LocalDate.now(), Entreprise.SALAIRE_BASE, 6, 1.0));
+
+        //When
+        employe = employeRepository.findByMatricule("C01234");
+        employe.setPerformance(12);
+        employeRepository.save(employe);
+        employeRepository.delete(employeRepository.findByMatricule("C67890"));
+
+        //Then
+        Assertions.assertEquals(employeRepository.avgPerformanceWhereMatriculeStartsWith("C"), performanceMoyenneService.getPerformanceMoyenne("C"));
+        Assertions.assertEquals(11d, performanceMoyenneService.getPerformanceMoyenne("C").doubleValue());
+    }
+
+    @Test
+    public void integrationMetriques() throws EmployeException {
+        //Given
+        long nbEmbauches = meterRegistry.get("java350.employe.embauche").tag("poste", "COMMERCIAL").tag("niveauEtude", "CAP").tag("outcome", "success").timer().count();
+
+        //When
+        employeService.embaucheEmploye("Doe", "John", Poste.COMMERCIAL, NiveauEtude.CAP, 1.0);
+        employeRepository.findByMatricule("C99999");
+
+        //Then
+        Assertions.assertEquals(nbEmbauches + 1, meterRegistry.get("java350.employe.embauche").tag("poste", "COMMERCIAL").tag("niveauEtude", "CAP").tag("outcome", "success").timer().count());
+        Assertions.assertTrue(meterRegistry.get("java350.repository.employe").tag("method", "findByMatricule").tag("outcome", "success").timer().count() >= 1);
+    }
+
     //Test d'integration d'un cas nominal
     @Test
     public void testIntegrationCalculPerformanceCommercial() throws EmployeException {
@@ -171,4 +289,67 @@ public class EmployeServiceIntegrationTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void integrationFindByMatriculeCacheSecondNiveau() throws EmployeException {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "C12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        employeRepository.findByMatricule("C12345");
+        statistics.clear();
+
+        //When
+        Employe employe = employeRepository.findByMatricule("C12345");
+
+        //Then
+        Assertions.assertEquals("C12345", employe.getMatricule());
+        Assertions.assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        Assertions.assertEquals(0, statistics.getNaturalIdQueryExecutionCount());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void integrationFindByMatriculeCacheInvalideApresMiseAJour() throws EmployeException {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "C12345", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.findByMatricule("C12345");
+
+        //When
+        employeService.calculPerformanceCommercial("C12345", 200000L, 100000L);
+
+        //Then
+        Assertions.assertEquals(6, employeRepository.findByMatricule("C12345").getPerformance().intValue());
+    }
+
+    @Test
+    public void integrationCalculPerformanceCommercialRevuesConcurrentes() throws Exception {
+        //Given
+        employeRepository.save(new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        //Moyenne élevée pour que le bonus ne s'applique pas
+        employeRepository.save(new Employe("Doe", "Jane", "C00002", LocalDate.now(), Entreprise.SALAIRE_BASE, 100, 1.0));
+        int nbRevues = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(nbRevues);
+        CountDownLatch depart = new CountDownLatch(1);
+
+        //When
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < nbRevues; i++) {
+            futures.add(executor.submit(() -> {
+                depart.await();
+                employeService.calculPerformanceCommercial("C00001", 130000L, 120000L);
+                return null;
+            }));
+        }
+        depart.countDown();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //Then
+        //Chaque revue ajoute 1 (cas 4), aucune ne doit être perdue
+        Employe employe = employeRepository.findByMatricule("C00001");
+        Assertions.assertEquals(1 + nbRevues, employe.getPerformance().intValue());
+        Assertions.assertEquals(Long.valueOf(nbRevues), employe.getVersion());
+    }
+}
@@ -1,10 +1,16 @@
 package com.ipiecoles.java.java350.service;
 
 import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.journal.JournalEvenements;
+import com.ipiecoles.java.java350.metrics.EmployeMetrics;
+import com.ipiecoles.java.java350.model.CritereAugmentation;
+import com.ipiecoles.java.java350.model.CritereRecherche;
+import com.ipiecoles.java.java350.model.DemandeEmbauche;
 import com.ipiecoles.java.java350.model.Employe;
 import com.ipiecoles.java.java350.model.Entreprise;
 import com.ipiecoles.java.java350.model.NiveauEtude;
 import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.model.ResultatCommercial;
 import com.ipiecoles.java.java350.repository.EmployeRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +19,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import javax.persistence.EntityExistsException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static com.ipiecoles.java.java350.model.Entreprise.PERFORMANCE_BASE;
 import static java.lang.String.format;
@@ -30,6 +45,24 @@ public class EmployeServiceTest {
     @Mock
     EmployeRepository employeRepository;
 
+    @Mock
+    MatriculeService matriculeService;
+
+    @Mock
+    PerformanceMoyenneService performanceMoyenneService;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    EmployeMetrics employeMetrics;
+
+    @Mock(answer = Answers.RETURNS_MOCKS)
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    JournalEvenements journalEvenements;
+
     @BeforeEach
     public void setup(){
         MockitoAnnotations.initMocks(this.getClass());
@@ -43,8 +76,7 @@ public class EmployeServiceTest {
         Poste poste = Poste.TECHNICIEN;
         NiveauEtude niveauEtude = NiveauEtude.BTS_IUT;
         Double tempsPartiel = 1.0;
-        when(employeRepository.findLastMatricule()).thenReturn("00345");
-        when(employeRepository.findByMatricule("T00346")).thenReturn(null);
+        when(matriculeService.prochainMatricule(poste)).thenReturn("T00346");
 
         //When
         employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel);
@@ -70,8 +102,7 @@ public class EmployeServiceTest {
         Poste poste = Poste.MANAGER;
         NiveauEtude niveauEtude = NiveauEtude.MASTER;
         Double tempsPartiel = 0.5;
-        when(employeRepository.findLastMatricule()).thenReturn("00345");
-        when(employeRepository.findByMatricule("M00346")).thenReturn(null);
+        when(matriculeService.prochainMatricule(poste)).thenReturn("M00346");
 
         //When
         employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel);
@@ -90,54 +121,156 @@ public class EmployeServiceTest {
     }
 
     @Test
-    public void testEmbaucheEmployeManagerMiTempsMasterNoLastMatricule() throws EmployeException {
+    public void testEmbaucheEmployeSansRequeteDeLecture() throws EmployeException {
         //Given
         String nom = "Doe";
         String prenom = "John";
         Poste poste = Poste.MANAGER;
         NiveauEtude niveauEtude = NiveauEtude.MASTER;
         Double tempsPartiel = 0.5;
-        when(employeRepository.findLastMatricule()).thenReturn(null);
-        when(employeRepository.findByMatricule("M00001")).thenReturn(null);
+        when(matriculeService.prochainMatricule(poste)).thenReturn("M00001");
 
         //When
         employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel);
 
         //Then
+        verify(employeRepository, never()).findLastMatricule();
+        verify(employeRepository, never()).findByMatricule(anyString());
         ArgumentCaptor<Employe> employeArgumentCaptor = ArgumentCaptor.forClass(Employe.class);
         verify(employeRepository, times(1)).save(employeArgumentCaptor.capture());
         Assertions.assertEquals("M00001", employeArgumentCaptor.getValue().getMatricule());
     }
 
     @Test
-    public void testEmbaucheEmployeManagerMiTempsMasterExistingEmploye(){
+    public void testEmbaucheEmployeErrorMesureeCommeEchec() throws EmployeException {
         //Given
-        String nom = "Doe";
-        String prenom = "John";
-        Poste poste = Poste.MANAGER;
-        NiveauEtude niveauEtude = NiveauEtude.MASTER;
-        Double tempsPartiel = 0.5;
-        when(employeRepository.findLastMatricule()).thenReturn(null);
-        when(employeRepository.findByMatricule("M00001")).thenReturn(new Employe());
+        OutOfMemoryError erreur = new OutOfMemoryError("Java heap space");
+        when(matriculeService.prochainMatricule(Poste.TECHNICIEN)).thenThrow(erreur);
 
         //When/Then
-        EntityExistsException e = Assertions.assertThrows(EntityExistsException.class, () -> employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel));
-        Assertions.assertEquals("L'employé de matricule M00001 existe déjà en BDD", e.getMessage());
+        OutOfMemoryError e = Assertions.assertThrows(OutOfMemoryError.class, () -> employeService.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BAC, 1.0));
+        Assertions.assertSame(erreur, e);
+        verify(employeMetrics).enregistrerEmbauche(eq(Poste.TECHNICIEN), eq(NiveauEtude.BAC), same(erreur), anyLong());
     }
 
     @Test
-    public void testEmbaucheEmployeManagerMiTempsMaster99999(){
+    public void testEmbaucheEmployeManagerMiTempsMaster99999() throws EmployeException {
         //Given
         String nom = "Doe";
         String prenom = "John";
         Poste poste = Poste.MANAGER;
         NiveauEtude niveauEtude = NiveauEtude.MASTER;
         Double tempsPartiel = 0.5;
-        when(employeRepository.findLastMatricule()).thenReturn("99999");
+        when(matriculeService.prochainMatricule(poste)).thenThrow(new EmployeException("Limite des 100000 matricules atteinte !"));
 
         //When/Then
         EmployeException e = Assertions.assertThrows(EmployeException.class, () -> employeService.embaucheEmploye(nom, prenom, poste, niveauEtude, tempsPartiel));
         Assertions.assertEquals("Limite des 100000 matricules atteinte !", e.getMessage());
+        verify(employeRepository, never()).save(any(Employe.class));
+        verify(employeMetrics).enregistrerEmbauche(eq(poste), eq(niveauEtude), same(e), anyLong());
+    }
+
+    @Test
+    public void testEmbaucheEmployesReserveUnBlocParPoste() throws EmployeException {
+        //Given
+        List<DemandeEmbauche> demandes = Arrays.asList(
+                new DemandeEmbauche("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0),
+                new DemandeEmbauche("Doe", "Jane", Poste.MANAGER, NiveauEtude.MASTER, 0.5),
+                new DemandeEmbauche("Doe", "Jim", Poste.TECHNICIEN, NiveauEtude.CAP, 1.0));
+        doReturn(346).when(matriculeService).reserverNumeros(Poste.TECHNICIEN, 2);
+        doReturn(12).when(matriculeService).reserverNumeros(Poste.MANAGER, 1);
+
+        //When
+        List<String> matricules = employeService.embaucheEmployes(demandes);
+
+        //Then
+        Assertions.assertEquals(Arrays.asList("T00346", "M00012", "T00347"), matricules);
+        verify(employeRepository, never()).findByMatricule(anyString());
+        verify(employeRepository, times(1)).saveAll(any());
+        verify(entityManager, times(1)).clear();
+    }
+
+    @Test
+    public void testEmbaucheEmployesParLots() throws EmployeException {
+        //Given
+        List<DemandeEmbauche> demandes = new ArrayList<>();
+        for (int i = 0; i < EmployeService.TAILLE_LOT * 2 + 1; i++) {
+            demandes.add(new DemandeEmbauche("Doe", "John" + i, Poste.COMMERCIAL, NiveauEtude.LICENCE, 1.0));
+        }
+        when(matriculeService.reserverNumeros(Poste.COMMERCIAL, demandes.size())).thenReturn(1);
+
+        //When
+        List<String> matricules = employeService.embaucheEmployes(demandes);
+
+        //Then
+        Assertions.assertEquals("C00101", matricules.get(matricules.size() - 1));
+        verify(employeRepository, times(3)).saveAll(any());
+        verify(employeRepository, times(3)).flush();
+    }
+
+    @Test
+    public void testEmbaucheEmployeMatriculeDejaEnBdd() throws EmployeException {
+        //Given
+        when(matriculeService.prochainMatricule(Poste.TECHNICIEN)).thenReturn("T00346", "T00400");
+        doThrow(new DataIntegrityViolationException("uk_employe_matricule")).doReturn(null)
+                .when(employeRepository).save(any(Employe.class));
+
+        //When
+        employeService.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0);
+
+        //Then
+        ArgumentCaptor<Employe> employeArgumentCaptor = ArgumentCaptor.forClass(Employe.class);
+        verify(employeRepository, times(2)).save(employeArgumentCaptor.capture());
+        Assertions.assertEquals("T00400", employeArgumentCaptor.getValue().getMatricule());
+        verify(matriculeService, times(1)).resynchroniser(Poste.TECHNICIEN);
+        verify(journalEvenements, times(1)).enregistrer(any());
+    }
+
+    @Test
+    public void testEmbaucheEmployeMatriculeToujoursEnDoublon() throws EmployeException {
+        //Given
+        when(matriculeService.prochainMatricule(Poste.TECHNICIEN)).thenReturn("T00346", "T00400");
+        doThrow(new DataIntegrityViolationException("uk_employe_matricule")).when(employeRepository).save(any(Employe.class));
+
+        //When/Then
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> employeService.embaucheEmploye("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0));
+        verify(employeRepository, times(EmployeService.NB_ESSAIS_EMBAUCHE_MAX)).save(any(Employe.class));
+        verify(journalEvenements, never()).enregistrer(any());
+    }
+
+    @Test
+    public void testEmbaucheEmployesMatriculeDejaEnBdd() throws EmployeException {
+        //Given
+        List<DemandeEmbauche> demandes = Arrays.asList(
+                new DemandeEmbauche("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0),
+                new DemandeEmbauche("Doe", "Jim", Poste.TECHNICIEN, NiveauEtude.CAP, 1.0));
+        when(matriculeService.reserverNumeros(Poste.TECHNICIEN, 2)).thenReturn(346, 400);
+        doThrow(new DataIntegrityViolationException("uk_employe_matricule")).doReturn(null)
+                .when(employeRepository).saveAll(any());
+
+        //When
+        List<String> matricules = employeService.embaucheEmployes(demandes);
+
+        //Then
+        Assertions.assertEquals(Arrays.asList("T00400", "T00401"), matricules);
+        verify(matriculeService, times(1)).resynchroniser(Poste.TECHNICIEN);
+        verify(matriculeService, never()).resynchroniser(Poste.MANAGER);
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    public void testEmbaucheEmployesDemandeIncomplete() {
+        //Given
+        List<DemandeEmbauche> demandes = Arrays.asList(
+                new DemandeEmbauche("Doe", "John", Poste.TECHNICIEN, NiveauEtude.BTS_IUT, 1.0),
+                new DemandeEmbauche("Doe", "Jane", null, NiveauEtude.MASTER, 0.5));
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class, () -> employeService.embaucheEmployes(demandes));
+        Assertions.assertEquals("Le poste et le niveau d'étude de l'employé sont obligatoires !", e.getMessage());
+        verifyZeroInteractions(matriculeService, employeRepository);
     }
 
     //Test intégré calculPerformanceCommercial
@@ -282,8 +415,123 @@ public class EmployeServiceTest {
         }
 
     }
-}
 
+    @Test
+    public void testCalculPerformanceCommerciauxMoyenneCalculeeUneFois() throws EmployeException {
+        //Given
+        Employe commercial1 = new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 4, 1.0);
+        Employe commercial2 = new Employe("Doe", "Jane", "C00002", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0);
+        when(employeRepository.findByTypeEmploye("C")).thenReturn(Arrays.asList(commercial1, commercial2));
+        Map<String, ResultatCommercial> resultats = new HashMap<>();
+        resultats.put("C00001", new ResultatCommercial(160000L, 120000L));
+        resultats.put("C00002", new ResultatCommercial(100L, 120000L));
+
+        //When
+        employeService.calculPerformanceCommerciaux(resultats);
+
+        //Then
+        //Moyenne de 2.5 : 4 + 4 (cas 5) + 1 (supérieur à la moyenne) = 9 et performance de base (cas 1) = 1
+        Assertions.assertEquals(9, commercial1.getPerformance().intValue());
+        Assertions.assertEquals(1, commercial2.getPerformance().intValue());
+        verify(employeRepository, never()).avgPerformanceWhereMatriculeStartsWith(anyString());
+        verify(employeRepository, never()).findByMatricule(anyString());
+        verify(employeRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    public void testCalculPerformanceCommerciauxMatriculeInexistant() {
+        //Given
+        Employe commercial1 = new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 4, 1.0);
+        when(employeRepository.findByTypeEmploye("C")).thenReturn(Arrays.asList(commercial1));
+        Map<String, ResultatCommercial> resultats = new HashMap<>();
+        resultats.put("C00002", new ResultatCommercial(100L, 120000L));
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class, () -> employeService.calculPerformanceCommerciaux(resultats));
+        Assertions.assertEquals("Le matricule C00002 n'existe pas !", e.getMessage());
+        verify(employeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void testCalculPerformanceCommerciauxObjectifNegatifAvantChargement() {
+        //Given
+        Map<String, ResultatCommercial> resultats = new HashMap<>();
+        resultats.put("C00001", new ResultatCommercial(100L, -1L));
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class, () -> employeService.calculPerformanceCommerciaux(resultats));
+        Assertions.assertEquals("L'objectif du C.A ne peut être négatif ou null !", e.getMessage());
+        verifyZeroInteractions(employeRepository);
+    }
+
+    @Test
+    public void testCalculPerformanceCommercialRepriseApresConflit() throws EmployeException {
+        //Given
+        Employe lu = new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0);
+        Employe relu = new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 3, 1.0);
+        when(employeRepository.findByMatricule("C00001")).thenReturn(lu, relu);
+        when(employeRepository.save(lu)).thenThrow(new ObjectOptimisticLockingFailureException(Employe.class, 1L));
+
+        //When
+        employeService.calculPerformanceCommercial("C00001", 130000L, 120000L);
+
+        //Then
+        //La revue est recommencée sur l'employé relu : 3 + 1 (cas 4) + 1 (supérieur à la moyenne)
+        Assertions.assertEquals(5, relu.getPerformance().intValue());
+        verify(employeRepository).save(relu);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    public void testCalculPerformanceCommercialConflitPersistant() {
+        //Given
+        when(employeRepository.findByMatricule("C00001")).thenAnswer(invocation ->
+                new Employe("Doe", "John", "C00001", LocalDate.now(), Entreprise.SALAIRE_BASE, 1, 1.0));
+        when(employeRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(Employe.class, 1L));
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class,
+                () -> employeService.calculPerformanceCommercial("C00001", 130000L, 120000L));
+        Assertions.assertEquals("La revue de performance est en conflit avec des revues concurrentes, veuillez réessayer !", e.getMessage());
+        verify(employeRepository, times(EmployeService.NB_ESSAIS_REVUE_MAX)).save(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    public void testListerEmployesTaillePageInvalide() {
+        //Given
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class, () -> employeService.listerEmployes(CritereRecherche.tous(), null, EmployeService.TAILLE_PAGE_MAX + 1));
+        Assertions.assertEquals("La taille de la page doit être comprise entre 1 et 1000 !", e.getMessage());
+        Assertions.assertThrows(EmployeException.class, () -> employeService.listerEmployes(CritereRecherche.tous(), null, 0));
+        Mockito.verifyZeroInteractions(employeRepository);
+    }
+
+    @Test
+    public void testAugmenterSalairesPourcentageNul() {
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class,
+                () -> employeService.augmenterSalaires(0, CritereAugmentation.tous()));
+        Assertions.assertEquals("Le pourcentage ne peux être égale à 0 !!", e.getMessage());
+        verifyZeroInteractions(employeRepository, journalEvenements);
+    }
 
+    @Test
+    public void testAugmenterSalaires() throws EmployeException {
+        //Given
+        CritereAugmentation critere = new CritereAugmentation(Poste.COMMERCIAL, null, 3);
+        when(employeRepository.augmenterSalaires(0.03, critere, Entreprise.regles())).thenReturn(12);
 
+        //When
+        int nbEmployes = employeService.augmenterSalaires(0.03, critere);
 
+        //Then
+        Assertions.assertEquals(12, nbEmployes);
+        verify(employeRepository, never()).findAll();
+        verify(journalEvenements).enregistrer(Mockito.argThat(evenement -> evenement.getPourcentage() == 0.03
+                && "C".equals(evenement.getMatricule()) && evenement.getPerformance() == 3));
+    }
+}
@@ -0,0 +1,152 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.exception.EmployeException;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MatriculeServiceTest {
+
+    @InjectMocks
+    MatriculeService matriculeService;
+
+    @Mock
+    EmployeRepository employeRepository;
+
+    @Test
+    public void testProchainMatriculeApresDernierMatricule() throws EmployeException {
+        //Given
+        lenient().when(employeRepository.findLastMatriculeWhereMatriculeStartsWith("T")).thenReturn("00345");
+        matriculeService.initialiser();
+
+        //When
+        String matricule = matriculeService.prochainMatricule(Poste.TECHNICIEN);
+
+        //Then
+        Assertions.assertEquals("T00346", matricule);
+    }
+
+    @Test
+    public void testProchainMatriculeSansDernierMatricule() throws EmployeException {
+        //Given
+        matriculeService.initialiser();
+
+        //When
+        String matricule = matriculeService.prochainMatricule(Poste.MANAGER);
+
+        //Then
+        Assertions.assertEquals("M00001", matricule);
+    }
+
+    @Test
+    public void testProchainMatriculeSansRequeteApresInitialisation() throws EmployeException {
+        //Given
+        matriculeService.initialiser();
+        clearInvocations(employeRepository);
+
+        //When
+        matriculeService.prochainMatricule(Poste.COMMERCIAL);
+        matriculeService.prochainMatricule(Poste.COMMERCIAL);
+
+        //Then
+        verifyZeroInteractions(employeRepository);
+    }
+
+    @Test
+    public void testProchainMatricule99999() {
+        //Given
+        lenient().when(employeRepository.findLastMatriculeWhereMatriculeStartsWith("M")).thenReturn("99999");
+        matriculeService.initialiser();
+
+        //When/Then
+        EmployeException e = Assertions.assertThrows(EmployeException.class, () -> matriculeService.prochainMatricule(Poste.MANAGER));
+        Assertions.assertEquals("Limite des 100000 matricules atteinte !", e.getMessage());
+    }
+
+    @Test
+    public void testReserverNumerosBlocContigu() throws EmployeException {
+        //Given
+        lenient().when(employeRepository.findLastMatriculeWhereMatriculeStartsWith("C")).thenReturn("00010");
+        matriculeService.initialiser();
+
+        //When
+        int premier = matriculeService.reserverNumeros(Poste.COMMERCIAL, 5);
+        String suivant = matriculeService.prochainMatricule(Poste.COMMERCIAL);
+
+        //Then
+        Assertions.assertEquals(11, premier);
+        Assertions.assertEquals("C00016", suivant);
+    }
+
+    @Test
+    public void testResynchroniserSansRevenirEnArriere() throws EmployeException {
+        //Given
+        lenient().when(employeRepository.findLastMatriculeWhereMatriculeStartsWith("C")).thenReturn("00010", "00020", "00005");
+        matriculeService.initialiser();
+
+        //When
+        matriculeService.resynchroniser(Poste.COMMERCIAL);
+        String apresRecalage = matriculeService.prochainMatricule(Poste.COMMERCIAL);
+        matriculeService.resynchroniser(Poste.COMMERCIAL);
+
+        //Then
+        Assertions.assertEquals("C00021", apresRecalage);
+        Assertions.assertEquals("C00022", matriculeService.prochainMatricule(Poste.COMMERCIAL));
+    }
+
+    @Test
+    public void testReserverNumerosDepasseLimite() {
+        //Given
+        lenient().when(employeRepository.findLastMatriculeWhereMatriculeStartsWith("C")).thenReturn("99990");
+        matriculeService.initialiser();
+
+        //When/Then
+        Assertions.assertThrows(EmployeException.class, () -> matriculeService.reserverNumeros(Poste.COMMERCIAL, 10));
+    }
+
+    @Test
+    public void testProchainMatriculeConcurrent() throws Exception {
+        //Given
+        matriculeService.initialiser();
+        int nbThreads = 8;
+        int nbEmbauchesParThread = 1000;
+        Set<String> matricules = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        CountDownLatch depart = new CountDownLatch(1);
+
+        //When
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < nbThreads; t++) {
+            futures.add(executor.submit(() -> {
+                depart.await();
+                for (int i = 0; i < nbEmbauchesParThread; i++) {
+                    matricules.add(matriculeService.prochainMatricule(Poste.TECHNICIEN));
+                }
+                return null;
+            }));
+        }
+        depart.countDown();
+        for (Future<Void> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //Then
+        Assertions.assertEquals(nbThreads * nbEmbauchesParThread, matricules.size());
+        Assertions.assertEquals("T08001", matriculeService.prochainMatricule(Poste.TECHNICIEN));
+    }
+}
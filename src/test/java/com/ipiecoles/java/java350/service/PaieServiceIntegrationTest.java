@@ -0,0 +1,103 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.InstantaneEmployes;
+import com.ipiecoles.java.java350.model.LignePaie;
+import com.ipiecoles.java.java350.model.ParametresPrime;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.model.StockEmployes;
+import com.ipiecoles.java.java350.model.TotauxPaie;
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class PaieServiceIntegrationTest {
+
+    @Autowired
+    PaieService paieService;
+
+    @Autowired
+    StockEmployesService stockEmployesService;
+
+    @Autowired
+    private EmployeRepository employeRepository;
+
+    @BeforeEach
+    @AfterEach
+    public void setup(){
+        employeRepository.deleteAll();
+    }
+
+    @Test
+    public void integrationCalculPaie() {
+        //Given
+        LocalDate dateReference = LocalDate.of(2021, 6, 15);
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.of(2019, 1, 1), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "M40325", LocalDate.of(2021, 1, 1), 2500d, 1, 0.5));
+        Map<String, LignePaie> lignes = new HashMap<>();
+
+        //When
+        long nbEmployes = paieService.calculPaie(dateReference, ligne -> lignes.put(ligne.getMatricule(), ligne));
+
+        //Then
+        Assertions.assertEquals(2, nbEmployes);
+        LignePaie technicien = lignes.get("T12345");
+        Assertions.assertEquals(Entreprise.SALAIRE_BASE.doubleValue(), technicien.getSalaire());
+        Assertions.assertEquals(1200d, technicien.getPrimeAnnuelle());
+        Assertions.assertEquals(27, technicien.getNbConges());
+        LignePaie manager = lignes.get("M40325");
+        Assertions.assertEquals(2500d, manager.getSalaire());
+        Assertions.assertEquals(850d, manager.getPrimeAnnuelle());
+        Assertions.assertEquals(new Employe("Doe", "Jane", "M40325", LocalDate.of(2021, 1, 1), 2500d, 1, 0.5).nbRtt(dateReference), manager.getNbRtt());
+    }
+
+    @Test
+    public void integrationChargerInstantaneEmployes() {
+        //Given
+        LocalDate dateReference = LocalDate.of(2021, 6, 15);
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.of(2019, 1, 1), Entreprise.SALAIRE_BASE, 1, 1.0));
+        employeRepository.save(new Employe("Doe", "Jane", "M40325", LocalDate.of(2021, 1, 1), 2500d, 1, 0.5));
+
+        //When
+        InstantaneEmployes instantane = paieService.chargerInstantaneEmployes();
+
+        //Then
+        Assertions.assertEquals(2, instantane.getNbEmployes());
+        Assertions.assertEquals(1200d + 850d, instantane.coutPrimes(new ParametresPrime[]{ParametresPrime.actuels()}, dateReference)[0], 1e-9);
+    }
+
+    @Test
+    public void integrationRafraichirStockEmployes() {
+        //Given
+        LocalDate dateReference = LocalDate.of(2021, 6, 15);
+        employeRepository.save(new Employe("Doe", "John", "T12345", LocalDate.of(2019, 1, 1), Entreprise.SALAIRE_BASE, 1, 1.0));
+        StockEmployes stockPrecedent = stockEmployesService.getStock();
+
+        //When
+        StockEmployes stock = stockEmployesService.rafraichir();
+        employeRepository.save(new Employe("Doe", "Jane", "M40325", LocalDate.of(2021, 1, 1), 2500d, 1, 0.5));
+
+        //Then
+        Assertions.assertNotSame(stockPrecedent, stock);
+        Assertions.assertSame(stock, stockEmployesService.getStock());
+        Assertions.assertEquals(1, stock.getNbEmployes());
+        Assertions.assertEquals(-1, stock.emplacement("M40325"));
+        TotauxPaie totaux = paieService.calculTotauxPaie(stock, dateReference);
+        Assertions.assertEquals(1, totaux.getNbEmployes(Poste.TECHNICIEN));
+        Assertions.assertEquals(120000, totaux.getPrimesCentimes(Poste.TECHNICIEN));
+        Assertions.assertEquals(2, stockEmployesService.rafraichir().getNbEmployes());
+    }
+}
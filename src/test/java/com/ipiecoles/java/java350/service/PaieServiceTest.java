@@ -0,0 +1,95 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Employe;
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.Poste;
+import com.ipiecoles.java.java350.model.StockEmployes;
+import com.ipiecoles.java.java350.model.TotauxPaie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class PaieServiceTest {
+
+    private static final LocalDate DATE_REFERENCE = LocalDate.of(2021, 6, 15);
+
+    PaieService paieService = new PaieService();
+
+    @AfterEach
+    public void arreter(){
+        paieService.arreter();
+    }
+
+    @Test
+    public void testCalculTotauxPaieParType() {
+        //Given
+        List<Employe> employes = Arrays.asList(
+                new Employe("Doe", "John", "T00001", LocalDate.of(2019, 1, 1), Entreprise.SALAIRE_BASE, 1, 1.0),
+                new Employe("Doe", "Jane", "T00002", LocalDate.of(2021, 1, 1), 2000d, 2, 0.5),
+                new Employe("Doe", "Jim", "M00001", LocalDate.of(2021, 1, 1), 2500d, 1, 1.0),
+                new Employe("Doe", "Joe", "X00001", LocalDate.of(2021, 1, 1), 2500d, 1, 1.0));
+
+        //When
+        TotauxPaie totaux = paieService.calculTotauxPaie(employes, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertEquals(2, totaux.getNbEmployes(Poste.TECHNICIEN));
+        Assertions.assertEquals(152122 + 200000, totaux.getSalairesCentimes(Poste.TECHNICIEN));
+        //1200 + (1000 * 2.3 + 0) * 0.5
+        Assertions.assertEquals(120000 + 115000, totaux.getPrimesCentimes(Poste.TECHNICIEN));
+        Assertions.assertEquals(27 + 25, totaux.getNbConges(Poste.TECHNICIEN));
+        Assertions.assertEquals(1, totaux.getNbEmployes(Poste.MANAGER));
+        Assertions.assertEquals(170000, totaux.getPrimesCentimes(Poste.MANAGER));
+        Assertions.assertEquals(0, totaux.getNbEmployes(Poste.COMMERCIAL));
+    }
+
+    @Test
+    public void testCalculTotauxPaieParalleleIdentiqueAuSequentiel() {
+        //Given
+        Random random = new Random(350);
+        List<Employe> employes = new ArrayList<>();
+        for (int i = 0; i < PaieService.SEUIL_DECOUPAGE * 20 + 7; i++) {
+            Poste poste = Poste.values()[random.nextInt(Poste.values().length)];
+            employes.add(new Employe("Doe", "John" + i, MatriculeService.formaterMatricule(poste, i),
+                    LocalDate.of(1990 + random.nextInt(35), 1 + random.nextInt(12), 1),
+                    1000 + random.nextInt(300000) / 100d, 1 + random.nextInt(10), 0.5 + random.nextInt(6) / 10d));
+        }
+
+        //When
+        TotauxPaie parallele = paieService.calculTotauxPaie(employes, DATE_REFERENCE);
+        TotauxPaie sequentiel = paieService.calculTotauxPaieSequentiel(employes, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertEquals(sequentiel, parallele);
+        Assertions.assertEquals(employes.size(), parallele.getNbEmployes(Poste.TECHNICIEN) + parallele.getNbEmployes(Poste.MANAGER) + parallele.getNbEmployes(Poste.COMMERCIAL));
+    }
+
+    @Test
+    public void testCalculTotauxPaieStockIdentiqueAuxEmployes() {
+        //Given
+        Random random = new Random(350);
+        List<Employe> employes = new ArrayList<>();
+        StockEmployes stock = new StockEmployes(10);
+        for (int i = 0; i < 5000; i++) {
+            Poste poste = Poste.values()[random.nextInt(Poste.values().length)];
+            Employe employe = new Employe("Doe", "John" + i, MatriculeService.formaterMatricule(poste, i),
+                    LocalDate.of(1990 + random.nextInt(35), 1 + random.nextInt(12), 1),
+                    i % 100 == 0 ? null : 1000 + random.nextInt(300000) / 100d,
+                    i % 70 == 0 ? null : 1 + random.nextInt(10), 0.5 + random.nextInt(6) / 10d);
+            employes.add(employe);
+            stock.ajouter(employe);
+        }
+
+        //When
+        TotauxPaie totauxStock = paieService.calculTotauxPaie(stock, DATE_REFERENCE);
+
+        //Then
+        Assertions.assertEquals(paieService.calculTotauxPaieSequentiel(employes, DATE_REFERENCE), totauxStock);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.repository.EmployeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PerformanceMoyenneServiceTest {
+
+    @InjectMocks
+    PerformanceMoyenneService performanceMoyenneService;
+
+    @Mock
+    EmployeRepository employeRepository;
+
+    @Test
+    public void testGetPerformanceMoyenneAucunEmploye() {
+        //When/Then
+        Assertions.assertNull(performanceMoyenneService.getPerformanceMoyenne("C"));
+    }
+
+    @Test
+    public void testGetPerformanceMoyenneApresAjoutsEtRetraits() {
+        //Given
+        performanceMoyenneService.ajouter("C12345", 10);
+        performanceMoyenneService.ajouter("C67890", 8);
+        performanceMoyenneService.ajouter("C01234", 6);
+        performanceMoyenneService.ajouter("M00001", 100);
+        performanceMoyenneService.ajouter("C00001", null);
+
+        //When
+        performanceMoyenneService.retirer("C01234", 6);
+        performanceMoyenneService.retirer("C67890", 8);
+        performanceMoyenneService.ajouter("C67890", 5);
+
+        //Then
+        Assertions.assertEquals(7.5, performanceMoyenneService.getPerformanceMoyenne("C").doubleValue());
+        Assertions.assertEquals(100d, performanceMoyenneService.getPerformanceMoyenne("M").doubleValue());
+        Assertions.assertNull(performanceMoyenneService.getPerformanceMoyenne("T"));
+    }
+
+    @Test
+    public void testGetPerformanceMoyenneTypeInconnu() {
+        //Given
+        performanceMoyenneService.ajouter("X00001", 3);
+
+        //When/Then
+        Assertions.assertNull(performanceMoyenneService.getPerformanceMoyenne("X"));
+        Assertions.assertNull(performanceMoyenneService.getPerformanceMoyenne(null));
+    }
+
+    @Test
+    public void testReconcilier() {
+        //Given
+        performanceMoyenneService.ajouter("C12345", 10);
+        performanceMoyenneService.ajouter("T12345", 1);
+        when(employeRepository.sumAndCountPerformanceGroupByPremiereLettreMatricule()).thenReturn(Arrays.asList(
+                new Object[]{"C", 24L, 3L},
+                new Object[]{"M", 6L, 2L}));
+
+        //When
+        performanceMoyenneService.reconcilier();
+
+        //Then
+        Assertions.assertEquals(8d, performanceMoyenneService.getPerformanceMoyenne("C").doubleValue());
+        Assertions.assertEquals(3d, performanceMoyenneService.getPerformanceMoyenne("M").doubleValue());
+        Assertions.assertNull(performanceMoyenneService.getPerformanceMoyenne("T"));
+    }
+
+    @Test
+    public void testReconcilierGardeLesModificationsPendantLaRequete() {
+        //Given
+        performanceMoyenneService.ajouter("C12345", 10);
+        when(employeRepository.sumAndCountPerformanceGroupByPremiereLettreMatricule()).thenAnswer(invocation -> {
+            //Embauche validée après la lecture de la BDD, appliquée pendant la requête
+            performanceMoyenneService.ajouter("C12346", 1);
+            return Arrays.asList(new Object[]{"C", 10L, 1L}, new Object[]{"M", 6L, 2L});
+        });
+
+        //When
+        performanceMoyenneService.reconcilier();
+
+        //Then
+        Assertions.assertEquals(5.5d, performanceMoyenneService.getPerformanceMoyenne("C").doubleValue());
+        Assertions.assertEquals(3d, performanceMoyenneService.getPerformanceMoyenne("M").doubleValue());
+    }
+}
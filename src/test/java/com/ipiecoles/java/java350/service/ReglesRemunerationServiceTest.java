@@ -0,0 +1,88 @@
+package com.ipiecoles.java.java350.service;
+
+import com.ipiecoles.java.java350.model.Entreprise;
+import com.ipiecoles.java.java350.model.NiveauEtude;
+import com.ipiecoles.java.java350.model.ReglesRemuneration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+public class ReglesRemunerationServiceTest {
+
+    private static final String REGLES = "salaireBase=1521.22\n" +
+            "coeffSalaireEtude.CAP=1.0\ncoeffSalaireEtude.BAC=1.1\ncoeffSalaireEtude.BTS_IUT=1.2\n" +
+            "coeffSalaireEtude.LICENCE=1.2\ncoeffSalaireEtude.MASTER=1.4\ncoeffSalaireEtude.INGENIEUR=1.6\n" +
+            "nbCongesBase=25\nnbJoursMaxForfait=218\nprimeBase=1000\nindicePrimeBase=0.3\n" +
+            "indicePrimeManager=1.7\nprimeAnciennete=100\n";
+
+    private Path fichier;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        fichier = Files.createTempFile("regles-remuneration", ".properties");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Entreprise.appliquerRegles(ReglesRemuneration.DEFAUT);
+        Files.deleteIfExists(fichier);
+    }
+
+    @Test
+    public void testRechargerFichierModifie() throws IOException {
+        //Given
+        ReglesRemunerationService service = new ReglesRemunerationService(fichier.toString());
+        ecrire("version=2020-01\n" + REGLES + "coeffSalaireEtude.DOCTORAT=1.7\n", 1000L);
+        service.recharger();
+        ReglesRemuneration reglesPrecedentes = Entreprise.regles();
+        ecrire("version=2021-01\n" + REGLES + "coeffSalaireEtude.DOCTORAT=1.8\n", 2000L);
+
+        //When
+        boolean recharge = service.recharger();
+
+        //Then
+        Assertions.assertTrue(recharge);
+        Assertions.assertEquals("2021-01", Entreprise.regles().getVersion());
+        Assertions.assertEquals(1.8, Entreprise.coeffSalaireEtude(NiveauEtude.DOCTORAT));
+        //La version précédente, gardée par un traitement en cours, n'est pas modifiée
+        Assertions.assertEquals("2020-01", reglesPrecedentes.getVersion());
+        Assertions.assertEquals(1.7, reglesPrecedentes.coeffSalaireEtude(NiveauEtude.DOCTORAT));
+        Assertions.assertFalse(service.recharger());
+    }
+
+    @Test
+    public void testRechargerFichierInvalide() throws IOException {
+        //Given
+        ReglesRemunerationService service = new ReglesRemunerationService(fichier.toString());
+        ecrire("version=2021-01\n" + REGLES, 1000L);
+
+        //When
+        boolean recharge = service.recharger();
+
+        //Then
+        Assertions.assertFalse(recharge);
+        Assertions.assertSame(ReglesRemuneration.DEFAUT, Entreprise.regles());
+    }
+
+    @Test
+    public void testRechargerSansFichier() {
+        //Given
+        ReglesRemunerationService service = new ReglesRemunerationService("");
+
+        //When/Then
+        Assertions.assertFalse(service.recharger());
+        Assertions.assertSame(ReglesRemuneration.DEFAUT, Entreprise.regles());
+    }
+
+    private void ecrire(String contenu, long dateModification) throws IOException {
+        Files.write(fichier, contenu.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(dateModification));
+    }
+}